@@ -0,0 +1,42 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.model.CucumberFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing large feature files with {@link cucumber.runtime.FeatureBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureParseBenchmark {
+    @Param({"100", "1000"})
+    public int scenarios;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = Fixtures.featureSource(scenarios, 10);
+    }
+
+    @Benchmark
+    public CucumberFeature parse() {
+        return Fixtures.feature("benchmark.feature", source);
+    }
+}
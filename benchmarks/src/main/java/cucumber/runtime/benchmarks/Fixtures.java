@@ -0,0 +1,106 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.FeatureBuilder;
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.model.CucumberFeature;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates the features and step definitions the benchmarks run against.
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    /**
+     * @param scenarios        how many scenarios
+     * @param stepsPerScenario how many steps in each scenario
+     * @return a feature where step {@code n} of every scenario reads "I have n cukes in my belly"
+     */
+    static String featureSource(int scenarios, int stepsPerScenario) {
+        StringBuilder source = new StringBuilder("Feature: Benchmark\n\n");
+        for (int s = 0; s < scenarios; s++) {
+            source.append("  @tag").append(s % 10).append("\n");
+            source.append("  Scenario: Scenario ").append(s).append("\n");
+            for (int n = 0; n < stepsPerScenario; n++) {
+                source.append("    Given I have ").append(n).append(" cukes in my belly\n");
+            }
+            source.append("\n");
+        }
+        return source.toString();
+    }
+
+    /**
+     * @param rows how many example rows
+     * @return a feature with a single Scenario Outline
+     */
+    static String outlineSource(int rows) {
+        StringBuilder source = new StringBuilder("" +
+                "Feature: Benchmark\n" +
+                "\n" +
+                "  Scenario Outline: Outline\n" +
+                "    Given I have <start> cukes in my belly\n" +
+                "    When I eat <eat> cukes\n" +
+                "    Then I should have <left> cukes in my belly\n" +
+                "\n" +
+                "    Examples:\n" +
+                "      | start | eat | left |\n");
+        for (int r = 0; r < rows; r++) {
+            source.append("      | ").append(r + 5).append(" | 5 | ").append(r).append(" |\n");
+        }
+        return source.toString();
+    }
+
+    /**
+     * @param count how many step definitions
+     * @return step definitions with distinct literal text, plus the one matching {@link #featureSource}
+     */
+    static List<StubStepDefinition> stepDefinitions(int count) {
+        List<StubStepDefinition> stepDefinitions = new ArrayList<StubStepDefinition>();
+        for (int i = 1; i < count; i++) {
+            stepDefinitions.add(new StubStepDefinition("^I have (\\d+) cukes in my basket number " + i + "$"));
+        }
+        stepDefinitions.add(new StubStepDefinition("^I have (\\d+) cukes in my belly$"));
+        return stepDefinitions;
+    }
+
+    static CucumberFeature feature(String path, String source) {
+        List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
+        new FeatureBuilder(cucumberFeatures).parse(resource(path, source), Collections.emptyList());
+        return cucumberFeatures.get(0);
+    }
+
+    static Resource resource(final String path, final String source) {
+        return new Resource() {
+            @Override
+            public String getPath() {
+                return path;
+            }
+
+            @Override
+            public String getAbsolutePath() {
+                return path;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                try {
+                    return new ByteArrayInputStream(source.getBytes("UTF-8"));
+                } catch (UnsupportedEncodingException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public String getClassName(String extension) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.formatter.PluginFactory;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Running a feature with passing steps through each of the report formatters, writing to a file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+    @Param({"json", "junit", "html", "pretty"})
+    public String plugin;
+
+    private Runtime runtime;
+    private CucumberFeature feature;
+    private String pluginString;
+
+    @Setup
+    public void setUp() throws IOException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        StubBackend backend = new StubBackend(Fixtures.stepDefinitions(1));
+        runtime = new Runtime(new MultiLoader(classLoader), classLoader, asList(backend), new RuntimeOptions(""));
+        feature = Fixtures.feature("benchmark.feature", Fixtures.featureSource(100, 10));
+
+        File out = File.createTempFile("cucumber-benchmark", "." + plugin);
+        out.delete();
+        out.deleteOnExit();
+        pluginString = plugin + ":" + out.getAbsolutePath();
+    }
+
+    @Benchmark
+    public void run() {
+        Object plugin = new PluginFactory().create(pluginString);
+        Formatter formatter = (Formatter) plugin;
+        feature.run(formatter, (Reporter) plugin, runtime);
+        formatter.done();
+        formatter.close();
+    }
+}
@@ -0,0 +1,77 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.ParameterInfo;
+import cucumber.runtime.xstream.LocalizedXStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting step arguments to the parameter types step definitions commonly declare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterInfoConvertBenchmark {
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public void stepdef(int i, String s, BigDecimal d, Date date, Color color, List<Integer> list) {
+    }
+
+    private LocalizedXStreams.LocalizedXStream xStream;
+    private List<ParameterInfo> parameterInfos;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        xStream = new LocalizedXStreams(getClass().getClassLoader()).get(Locale.US);
+        parameterInfos = ParameterInfo.fromMethod(getClass().getMethod("stepdef", Integer.TYPE, String.class, BigDecimal.class, Date.class, Color.class, List.class));
+    }
+
+    @Benchmark
+    public Object toInt() {
+        return parameterInfos.get(0).convert("42", xStream);
+    }
+
+    @Benchmark
+    public Object toText() {
+        return parameterInfos.get(1).convert("cukes", xStream);
+    }
+
+    @Benchmark
+    public Object toBigDecimal() {
+        return parameterInfos.get(2).convert("3.1415", xStream);
+    }
+
+    @Benchmark
+    public Object toDate() {
+        return parameterInfos.get(3).convert("02/28/1971", xStream);
+    }
+
+    @Benchmark
+    public Object toEnum() {
+        return parameterInfos.get(4).convert("GREEN", xStream);
+    }
+
+    @Benchmark
+    public Object toList() {
+        return parameterInfos.get(5).convert("1, 2, 3, 4, 5", xStream);
+    }
+}
@@ -0,0 +1,49 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.model.CucumberExamples;
+import cucumber.runtime.model.CucumberScenario;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expanding the Examples of a Scenario Outline into scenarios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScenarioOutlineBenchmark {
+    @Param({"10", "1000"})
+    public int rows;
+
+    private CucumberScenarioOutline outline;
+
+    @Setup
+    public void setUp() {
+        outline = (CucumberScenarioOutline) Fixtures.feature("outline.feature", Fixtures.outlineSource(rows)).getFeatureElements().get(0);
+    }
+
+    @Benchmark
+    public void createExampleScenarios(Blackhole blackhole) {
+        for (CucumberExamples cucumberExamples : outline.getCucumberExamplesList()) {
+            for (CucumberScenario exampleScenario : cucumberExamples.createExampleScenarios()) {
+                blackhole.consume(exampleScenario);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.StepDefinitionMatch;
+import cucumber.runtime.UndefinedStepsTracker;
+import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.I18n;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a step against N step definitions, for a step name that has been seen before and for new step names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepDefinitionMatchBenchmark {
+    @Param({"10", "100", "1000"})
+    public int stepDefinitions;
+
+    private RuntimeGlue glue;
+    private Step step;
+    private I18n i18n;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(getClass().getClassLoader()));
+        for (StepDefinition stepDefinition : Fixtures.stepDefinitions(stepDefinitions)) {
+            glue.addStepDefinition(stepDefinition);
+        }
+        step = step("I have 5 cukes in my belly");
+        i18n = new I18n("en");
+    }
+
+    @Benchmark
+    public StepDefinitionMatch repeatedStep() {
+        return glue.stepDefinitionMatch("benchmark.feature", step, i18n);
+    }
+
+    @Benchmark
+    public StepDefinitionMatch distinctSteps() {
+        return glue.stepDefinitionMatch("benchmark.feature", step("I have " + counter++ + " cukes in my belly"), i18n);
+    }
+
+    private static Step step(String name) {
+        return new Step(Collections.<Comment>emptyList(), "Given ", name, 1, null, null);
+    }
+}
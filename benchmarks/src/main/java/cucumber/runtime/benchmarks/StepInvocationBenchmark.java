@@ -0,0 +1,59 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoking a step definition method the way the Java backend does, with and without a timeout, compared to
+ * calling it directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepInvocationBenchmark {
+    private int cukes;
+
+    public int stepdef(Integer count) {
+        cukes += count;
+        return cukes;
+    }
+
+    private Method method;
+    private Object[] args;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = Utils.accessible(getClass().getMethod("stepdef", Integer.class));
+        args = new Object[]{42};
+    }
+
+    @Benchmark
+    public Object direct() {
+        return stepdef((Integer) args[0]);
+    }
+
+    @Benchmark
+    public Object withoutTimeout() throws Throwable {
+        return Utils.invoke(this, method, 0, args);
+    }
+
+    @Benchmark
+    public Object withTimeout() throws Throwable {
+        return Utils.invoke(this, method, 10000, args);
+    }
+}
@@ -0,0 +1,45 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.Glue;
+import cucumber.runtime.StepDefinition;
+import cucumber.runtime.UnreportedStepExecutor;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.formatter.model.Step;
+
+import java.util.List;
+
+/**
+ * A backend that loads a fixed set of step definitions and has no world.
+ */
+class StubBackend implements Backend {
+    private final List<? extends StepDefinition> stepDefinitions;
+
+    StubBackend(List<? extends StepDefinition> stepDefinitions) {
+        this.stepDefinitions = stepDefinitions;
+    }
+
+    @Override
+    public void loadGlue(Glue glue, List<String> gluePaths) {
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            glue.addStepDefinition(stepDefinition);
+        }
+    }
+
+    @Override
+    public void setUnreportedStepExecutor(UnreportedStepExecutor executor) {
+    }
+
+    @Override
+    public void buildWorld() {
+    }
+
+    @Override
+    public void disposeWorld() {
+    }
+
+    @Override
+    public String getSnippet(Step step, FunctionNameGenerator functionNameGenerator) {
+        return null;
+    }
+}
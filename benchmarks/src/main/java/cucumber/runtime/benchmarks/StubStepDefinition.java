@@ -0,0 +1,64 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
+import cucumber.runtime.ParameterInfo;
+import gherkin.I18n;
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Step;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A step definition that matches like a Java step definition, but does nothing when executed.
+ */
+class StubStepDefinition implements JdkPatternStepDefinition {
+    private final Pattern pattern;
+    private final JdkPatternArgumentMatcher argumentMatcher;
+
+    StubStepDefinition(String pattern) {
+        this.pattern = Pattern.compile(pattern);
+        this.argumentMatcher = new JdkPatternArgumentMatcher(this.pattern);
+    }
+
+    @Override
+    public List<Argument> matchedArguments(Step step) {
+        return argumentMatcher.argumentsFrom(step.getName());
+    }
+
+    @Override
+    public String getLocation(boolean detail) {
+        return "StubStepDefinition(" + pattern.pattern() + ")";
+    }
+
+    @Override
+    public Integer getParameterCount() {
+        return null;
+    }
+
+    @Override
+    public ParameterInfo getParameterType(int n, Type argumentType) {
+        return null;
+    }
+
+    @Override
+    public void execute(I18n i18n, Object[] args) {
+    }
+
+    @Override
+    public boolean isDefinedAt(StackTraceElement stackTraceElement) {
+        return false;
+    }
+
+    @Override
+    public String getPattern() {
+        return pattern.pattern();
+    }
+
+    @Override
+    public Pattern getJdkPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,78 @@
+package cucumber.runtime.benchmarks;
+
+import cucumber.api.DataTable;
+import cucumber.runtime.ParameterInfo;
+import cucumber.runtime.table.TableConverter;
+import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Converting a DataTable to a List of POJOs and a List of Maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableConverterBenchmark {
+    public static class Cuke {
+        public String name;
+        public int length;
+        public double weight;
+        public boolean ripe;
+    }
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private TableConverter tableConverter;
+    private DataTable table;
+
+    @Setup
+    public void setUp() {
+        LocalizedXStreams.LocalizedXStream xStream = new LocalizedXStreams(getClass().getClassLoader()).get(Locale.US);
+        tableConverter = new TableConverter(xStream, new ParameterInfo(null, null, null, null));
+        List<DataTableRow> gherkinRows = new ArrayList<DataTableRow>();
+        gherkinRows.add(row(0, "name", "length", "weight", "ripe"));
+        for (int r = 1; r <= rows; r++) {
+            gherkinRows.add(row(r, "cuke " + r, String.valueOf(r % 30), r + ".5", String.valueOf(r % 2 == 0)));
+        }
+        table = new DataTable(gherkinRows, tableConverter);
+    }
+
+    @Benchmark
+    public List<Cuke> toPojos() {
+        return tableConverter.toList(table, Cuke.class);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> toMaps() {
+        return tableConverter.toMaps(table, String.class, String.class);
+    }
+
+    private static DataTableRow row(int line, String... cells) {
+        return new DataTableRow(Collections.<Comment>emptyList(), asList(cells), line);
+    }
+}
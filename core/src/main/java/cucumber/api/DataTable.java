@@ -2,6 +2,7 @@ package cucumber.api;
 
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.ParameterInfo;
+import cucumber.runtime.table.ArrayRows;
 import cucumber.runtime.table.DiffableRow;
 import cucumber.runtime.table.TableConverter;
 import cucumber.runtime.table.TableDiffException;
@@ -23,7 +24,7 @@ import java.util.Map;
  */
 public class DataTable {
 
-    private final List<List<String>> raw;
+    private final ArrayRows<String> raw;
     private final List<DataTableRow> gherkinRows;
     private final TableConverter tableConverter;
 
@@ -55,22 +56,25 @@ public class DataTable {
         this.gherkinRows = gherkinRows;
         this.tableConverter = tableConverter;
         int columns = gherkinRows.get(0).getCells().size();
-        List<List<String>> raw = new ArrayList<List<String>>();
+        // The cells are copied into one array rather than a list per row, and raw() rows are views of it
+        String[] cells = new String[gherkinRows.size() * columns];
+        int i = 0;
         for (Row row : gherkinRows) {
-            List<String> list = new ArrayList<String>();
-            list.addAll(row.getCells());
-            if (columns != row.getCells().size()) {
-                throw new CucumberException(String.format("Table is unbalanced: expected %s column(s) but found %s.", columns, row.getCells().size()));
+            List<String> rowCells = row.getCells();
+            if (columns != rowCells.size()) {
+                throw new CucumberException(String.format("Table is unbalanced: expected %s column(s) but found %s.", columns, rowCells.size()));
+            }
+            for (String cell : rowCells) {
+                cells[i++] = cell;
             }
-            raw.add(Collections.unmodifiableList(list));
         }
-        this.raw = Collections.unmodifiableList(raw);
+        this.raw = new ArrayRows<String>(cells, columns, gherkinRows.size());
     }
 
-    private DataTable(List<DataTableRow> gherkinRows, List<List<String>> raw, TableConverter tableConverter) {
+    private DataTable(List<DataTableRow> gherkinRows, ArrayRows<String> raw, TableConverter tableConverter) {
         this.gherkinRows = gherkinRows;
         this.tableConverter = tableConverter;
-        this.raw = Collections.unmodifiableList(raw);
+        this.raw = raw;
     }
 
     /**
@@ -211,8 +215,8 @@ public class DataTable {
     }
 
     public List<DiffableRow> diffableRows() {
-        List<DiffableRow> result = new ArrayList<DiffableRow>();
         List<List<String>> convertedRows = raw();
+        List<DiffableRow> result = new ArrayList<DiffableRow>(convertedRows.size());
         for (int i = 0; i < convertedRows.size(); i++) {
             result.add(new DiffableRow(getGherkinRows().get(i), convertedRows.get(i)));
         }
@@ -224,22 +228,15 @@ public class DataTable {
     }
 
     public DataTable transpose() {
-        List<List<String>> transposed = new ArrayList<List<String>>();
-        for (int i = 0; i < gherkinRows.size(); i++) {
-            Row gherkinRow = gherkinRows.get(i);
-            for (int j = 0; j < gherkinRow.getCells().size(); j++) {
-                List<String> row = null;
-                if (j < transposed.size()) {
-                    row = transposed.get(j);
-                }
-                if (row == null) {
-                    row = new ArrayList<String>();
-                    transposed.add(row);
-                }
-                row.add(gherkinRow.getCells().get(j));
+        int width = raw.width();
+        int height = raw.size();
+        String[] transposed = new String[width * height];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                transposed[j * height + i] = raw.cell(i, j);
             }
         }
-        return new DataTable(this.gherkinRows, transposed, this.tableConverter);
+        return new DataTable(this.gherkinRows, new ArrayRows<String>(transposed, height, width), this.tableConverter);
     }
 
     @Override
@@ -0,0 +1,63 @@
+package cucumber.runtime;
+
+import gherkin.TagExpression;
+import gherkin.formatter.model.Tag;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A tag expression with the same syntax and meaning as a gherkin {@link TagExpression}, evaluated with bit set
+ * operations on the tag names of a {@link TagSet}.
+ * <p/>
+ * Each string of the expression is a clause of comma separated tags, optionally negated with {@code ~}. A clause
+ * matches when any of its tags matches, and the expression matches when all its clauses match. Tag limits like
+ * {@code @wip:3} are ignored, as they only apply to filtering features.
+ */
+public class CompiledTagExpression {
+    private final List<BitSet> positives = new ArrayList<BitSet>();
+    private final List<BitSet> negatives = new ArrayList<BitSet>();
+
+    public CompiledTagExpression(List<String> tagExpressions) {
+        for (String tagExpression : tagExpressions) {
+            BitSet positive = new BitSet();
+            BitSet negative = new BitSet();
+            for (String tag : tagExpression.split("\\s*,\\s*")) {
+                tag = tag.trim();
+                boolean negated = tag.startsWith("~");
+                String tagName = (negated ? tag.substring(1) : tag).split(":")[0];
+                (negated ? negative : positive).set(TagSet.bitOf(tagName));
+            }
+            positives.add(positive);
+            negatives.add(negative);
+        }
+    }
+
+    public boolean isEmpty() {
+        return positives.isEmpty();
+    }
+
+    public boolean evaluate(Collection<Tag> tags) {
+        return evaluate(TagSet.bitsOf(tags));
+    }
+
+    boolean evaluate(BitSet tags) {
+        for (int i = 0; i < positives.size(); i++) {
+            if (!positives.get(i).intersects(tags) && !hasAbsentTag(negatives.get(i), tags)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasAbsentTag(BitSet negative, BitSet tags) {
+        for (int bit = negative.nextSetBit(0); bit >= 0; bit = negative.nextSetBit(bit + 1)) {
+            if (!tags.get(bit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
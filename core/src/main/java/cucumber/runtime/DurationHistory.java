@@ -0,0 +1,127 @@
+package cucumber.runtime;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How long each scenario took in earlier runs, keyed by the gherkin id of the scenario or Scenario Outline
+ * example row. The history is kept in a text file with one {@code <nanoseconds> <id>} line per scenario, which
+ * is written by the {@code durations} plugin.
+ */
+public class DurationHistory {
+    private final File file;
+    private final Map<String, Long> durationsById;
+
+    private DurationHistory(File file, Map<String, Long> durationsById) {
+        this.file = file;
+        this.durationsById = durationsById;
+    }
+
+    /**
+     * @param file the history file
+     * @return the history in the file, or an empty history if the file doesn't exist yet
+     */
+    public static DurationHistory read(File file) {
+        Map<String, Long> durationsById = new TreeMap<String, Long>();
+        if (file.isFile()) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int space = line.indexOf(' ');
+                        if (space > 0) {
+                            durationsById.put(line.substring(space + 1), Long.parseLong(line.substring(0, space)));
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (IOException e) {
+                throw new CucumberException("Failed to read scenario durations from " + file.getPath(), e);
+            } catch (NumberFormatException e) {
+                throw new CucumberException("Not a scenario durations file: " + file.getPath(), e);
+            }
+        }
+        return new DurationHistory(file, durationsById);
+    }
+
+    /**
+     * @param id the gherkin id of a scenario or example row
+     * @return how long the scenario took when it last ran, in nanoseconds, or null if it didn't run before
+     */
+    public Long getDuration(String id) {
+        return durationsById.get(id);
+    }
+
+    public Map<String, Long> getDurations() {
+        return durationsById;
+    }
+
+    /**
+     * @param durationsById known durations, by scenario id
+     * @param ids           the scenarios to estimate
+     * @return the known duration of each scenario, or the average of the known durations of the scenarios for
+     * those that didn't run before
+     */
+    public static long[] estimateDurations(Map<String, Long> durationsById, List<String> ids) {
+        long[] durations = new long[ids.size()];
+        long known = 0;
+        int knownCount = 0;
+        for (int i = 0; i < durations.length; i++) {
+            Long duration = durationsById.get(ids.get(i));
+            durations[i] = duration == null ? -1 : duration;
+            if (duration != null) {
+                known += duration;
+                knownCount++;
+            }
+        }
+        long average = knownCount == 0 ? 1 : Math.max(1, known / knownCount);
+        for (int i = 0; i < durations.length; i++) {
+            if (durations[i] == -1) {
+                durations[i] = average;
+            }
+        }
+        return durations;
+    }
+
+    public void setDuration(String id, long duration) {
+        durationsById.put(id, duration);
+    }
+
+    /**
+     * Writes the history back to its file. Scenarios that didn't run this time keep their earlier duration, so
+     * runs of a subset of the features, such as a single shard, don't lose the durations of the others.
+     */
+    public void write() {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new CucumberException("Couldn't create directory for scenario durations: " + dir.getPath());
+        }
+        try {
+            File temp = new File(dir, file.getName() + ".tmp");
+            Writer writer = new OutputStreamWriter(new FileOutputStream(temp), "UTF-8");
+            try {
+                for (Map.Entry<String, Long> entry : durationsById.entrySet()) {
+                    writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+                }
+            } finally {
+                writer.close();
+            }
+            if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+                throw new CucumberException("Couldn't write scenario durations to " + file.getPath());
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to write scenario durations to " + file.getPath(), e);
+        }
+    }
+}
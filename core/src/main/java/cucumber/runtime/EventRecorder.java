@@ -0,0 +1,60 @@
+package cucumber.runtime;
+
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records {@link Formatter} and {@link Reporter} events so they can be replayed later,
+ * on another thread, against the real plugins.
+ */
+class EventRecorder implements InvocationHandler {
+    private final List<Event> events = new ArrayList<Event>();
+    private final Object proxy = Proxy.newProxyInstance(EventRecorder.class.getClassLoader(), new Class<?>[]{Formatter.class, Reporter.class}, this);
+
+    public Formatter formatter() {
+        return (Formatter) proxy;
+    }
+
+    public Reporter reporter() {
+        return (Reporter) proxy;
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        events.add(new Event(method, args));
+        return null;
+    }
+
+    public void replay(Formatter formatter, Reporter reporter) {
+        for (Event event : events) {
+            Object target = event.method.getDeclaringClass() == Formatter.class ? formatter : reporter;
+            try {
+                Utils.invoke(target, event.method, 0, event.args);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new CucumberException(t);
+            }
+        }
+        events.clear();
+    }
+
+    private static class Event {
+        private final Method method;
+        private final Object[] args;
+
+        Event(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package cucumber.runtime;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the failed scenarios of a run with {@code --fail-fast}. The workers of a parallel run share one
+ * instance, so that none of them starts another scenario once enough scenarios have failed.
+ */
+class FailFast {
+    private final int maxFailures;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    FailFast(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    void scenarioFailed() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * @return true when the scenario about to start should be skipped
+     */
+    boolean skipScenario() {
+        if (failures.get() >= maxFailures) {
+            skipped.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    int getMaxFailures() {
+        return maxFailures;
+    }
+
+    int getSkipped() {
+        return skipped.get();
+    }
+}
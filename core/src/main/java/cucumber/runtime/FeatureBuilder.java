@@ -13,11 +13,11 @@ import gherkin.formatter.model.ScenarioOutline;
 import gherkin.formatter.model.Step;
 import gherkin.lexer.Encoding;
 import gherkin.parser.Parser;
-import gherkin.util.FixJava;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
@@ -31,17 +31,31 @@ public class FeatureBuilder implements Formatter {
     private final List<CucumberFeature> cucumberFeatures;
     private final char fileSeparatorChar;
     private final MessageDigest md5;
+    private final FeatureCache featureCache;
     private final Map<String, String> pathsByChecksum = new HashMap<String, String>();
     private CucumberFeature currentCucumberFeature;
     private String featurePath;
 
     public FeatureBuilder(List<CucumberFeature> cucumberFeatures) {
-        this(cucumberFeatures, File.separatorChar);
+        this(cucumberFeatures, (FeatureCache) null);
+    }
+
+    /**
+     * @param cucumberFeatures where parsed features are added
+     * @param featureCache     where parsed features are kept between runs, or null to always parse
+     */
+    public FeatureBuilder(List<CucumberFeature> cucumberFeatures, FeatureCache featureCache) {
+        this(cucumberFeatures, File.separatorChar, featureCache);
     }
 
     FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar) {
+        this(cucumberFeatures, fileSeparatorChar, null);
+    }
+
+    FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar, FeatureCache featureCache) {
         this.cucumberFeatures = cucumberFeatures;
         this.fileSeparatorChar = fileSeparatorChar;
+        this.featureCache = featureCache;
         try {
             this.md5 = MessageDigest.getInstance("MD5");
         } catch (NoSuchAlgorithmException e) {
@@ -120,19 +134,37 @@ public class FeatureBuilder implements Formatter {
             return;
         }
         pathsByChecksum.put(checksum, resource.getPath());
-
+        parse(resource, gherkin, checksum, filters);
+    }
+
+    /**
+     * Parses gherkin that has already been read from a resource, without checking whether the same gherkin
+     * has been parsed before.
+     *
+     * @param resource where the gherkin was read from
+     * @param gherkin  the gherkin source
+     * @param checksum the {@link #checksum(String)} of the gherkin
+     * @param filters  the filters to apply
+     */
+    public void parse(Resource resource, String gherkin, String checksum, List<Object> filters) {
         Formatter formatter = this;
         if (!filters.isEmpty()) {
             formatter = new FilterFormatter(this, filters);
         }
-        Parser parser = new Parser(formatter);
+        String uri = convertFileSeparatorToForwardSlash(resource.getPath());
+        I18n i18n;
 
         try {
-            parser.parse(gherkin, convertFileSeparatorToForwardSlash(resource.getPath()), 0);
+            if (featureCache != null) {
+                i18n = featureCache.parse(gherkin, checksum, uri, formatter);
+            } else {
+                Parser parser = new Parser(formatter);
+                parser.parse(gherkin, uri, 0);
+                i18n = parser.getI18nLanguage();
+            }
         } catch (Exception e) {
-            throw new CucumberException(String.format("Error parsing feature file %s", convertFileSeparatorToForwardSlash(resource.getPath())), e);
+            throw new CucumberException(String.format("Error parsing feature file %s", uri), e);
         }
-        I18n i18n = parser.getI18nLanguage();
         if (currentCucumberFeature != null) {
             // The current feature may be null if we used a very restrictive filter, say a tag that isn't used.
             // Might also happen if the feature file itself is empty.
@@ -144,20 +176,40 @@ public class FeatureBuilder implements Formatter {
         return path.replace(fileSeparatorChar, '/');
     }
 
-    private String checksum(String gherkin) {
+    /**
+     * @param gherkin the gherkin source
+     * @return the checksum {@link #parse(Resource, List)} uses to skip duplicate features
+     */
+    public String checksum(String gherkin) {
         return new BigInteger(1, md5.digest(gherkin.getBytes(UTF8))).toString(16);
     }
 
     public String read(Resource resource) {
         try {
-            String source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), "UTF-8"));
+            // Read the resource once, and decode it again if it declares another encoding
+            byte[] bytes = readBytes(resource.getInputStream());
+            String source = new String(bytes, UTF8);
             String encoding = new Encoding().encoding(source);
             if (!"UTF-8".equals(encoding)) {
-                source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), encoding));
+                source = new String(bytes, encoding);
             }
             return source;
         } catch (IOException e) {
             throw new CucumberException("Failed to read resource:" + resource.getPath(), e);
         }
     }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
 }
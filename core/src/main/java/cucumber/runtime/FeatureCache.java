@@ -0,0 +1,252 @@
+package cucumber.runtime;
+
+import gherkin.I18n;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Mappable;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.BasicStatement;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.parser.Parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Keeps parsed features in a directory, so that unchanged feature files are loaded without being parsed again.
+ * <p/>
+ * A feature is stored as the gherkin statements the parser produced, keyed by the checksum of its source and the
+ * Cucumber-JVM version. Replaying the statements through a formatter has the same effect as parsing the source,
+ * so filters are applied the same way whether the feature came from the cache or not. Entries that can't be
+ * read, for example because they were written by another version of gherkin, are parsed again and replaced.
+ */
+public class FeatureCache {
+    private final File dir;
+    private final String version;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FeatureCache(File dir) {
+        this(dir, RuntimeOptions.VERSION);
+    }
+
+    FeatureCache(File dir, String version) {
+        this.dir = dir;
+        this.version = version;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new CucumberException("Couldn't create feature cache directory: " + dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Sends the gherkin to the formatter, the same way {@link Parser#parse(String, String, Integer)} would.
+     *
+     * @param gherkin   the gherkin source
+     * @param checksum  the {@link FeatureBuilder#checksum(String)} of the gherkin
+     * @param uri       the uri to report the feature at
+     * @param formatter receives the parsed feature
+     * @return the language the gherkin is written in
+     */
+    public I18n parse(String gherkin, String checksum, String uri, Formatter formatter) {
+        File file = new File(dir, checksum + "-" + version + ".ser");
+        CachedFeature cachedFeature = read(file);
+        if (cachedFeature == null) {
+            misses.incrementAndGet();
+            StatementRecorder recorder = new StatementRecorder();
+            Parser parser = new Parser(recorder);
+            parser.parse(gherkin, uri, 0);
+            cachedFeature = new CachedFeature(parser.getI18nLanguage().getIsoCode(), recorder.statements);
+            write(file, cachedFeature);
+        } else {
+            hits.incrementAndGet();
+        }
+
+        formatter.uri(uri);
+        for (BasicStatement statement : cachedFeature.statements) {
+            statement.replay(formatter);
+        }
+        formatter.eof();
+        return new I18n(cachedFeature.isoCode);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private CachedFeature read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ObjectInputStream in = new CachedFeatureInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                return (CachedFeature) in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        } catch (ClassNotFoundException e) {
+            file.delete();
+            return null;
+        } catch (ClassCastException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private void write(File file, CachedFeature cachedFeature) {
+        // Write to a temporary file first, so that concurrent readers never see a partly written entry
+        try {
+            File temp = File.createTempFile(file.getName(), ".tmp", dir);
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                out.writeObject(cachedFeature);
+            } finally {
+                out.close();
+            }
+            if (!temp.renameTo(file)) {
+                temp.delete();
+            }
+        } catch (IOException e) {
+            // The cache is an optimisation only. The feature will be parsed again next time.
+        }
+    }
+
+    private static class CachedFeature implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String isoCode;
+        private final List<BasicStatement> statements;
+
+        CachedFeature(String isoCode, List<BasicStatement> statements) {
+            this.isoCode = isoCode;
+            this.statements = statements;
+        }
+    }
+
+    /**
+     * Only reads the classes a cached feature is made of, so that a tampered cache entry can't make us instantiate
+     * anything else. Entries with other classes are treated like any other unreadable entry.
+     */
+    private static class CachedFeatureInputStream extends ObjectInputStream {
+        private static final String GHERKIN_MODEL = BasicStatement.class.getPackage().getName() + ".";
+        private static final String JAVA_UTIL = Collection.class.getPackage().getName() + ".";
+        private static final Set<String> ALLOWED = new HashSet<String>(asList(
+                CachedFeature.class.getName(),
+                Mappable.class.getName(),
+                String.class.getName(),
+                Integer.class.getName(),
+                Number.class.getName()
+        ));
+
+        CachedFeatureInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (name.startsWith(GHERKIN_MODEL) || ALLOWED.contains(name)) {
+                return super.resolveClass(desc);
+            }
+            if (name.startsWith(JAVA_UTIL) && name.indexOf('.', JAVA_UTIL.length()) == -1) {
+                // The lists and maps of the gherkin model, but not what other packages under java.util have
+                Class<?> type = super.resolveClass(desc);
+                if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                    return type;
+                }
+            }
+            throw new InvalidClassException(name, "Not allowed in the feature cache");
+        }
+    }
+
+    private static class StatementRecorder implements Formatter {
+        private final ArrayList<BasicStatement> statements = new ArrayList<BasicStatement>();
+
+        @Override
+        public void feature(Feature feature) {
+            statements.add(feature);
+        }
+
+        @Override
+        public void background(Background background) {
+            statements.add(background);
+        }
+
+        @Override
+        public void scenario(Scenario scenario) {
+            statements.add(scenario);
+        }
+
+        @Override
+        public void scenarioOutline(ScenarioOutline scenarioOutline) {
+            statements.add(scenarioOutline);
+        }
+
+        @Override
+        public void examples(Examples examples) {
+            statements.add(examples);
+        }
+
+        @Override
+        public void step(Step step) {
+            statements.add(step);
+        }
+
+        @Override
+        public void uri(String uri) {
+        }
+
+        @Override
+        public void eof() {
+        }
+
+        @Override
+        public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        }
+
+        @Override
+        public void done() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void startOfScenarioLifeCycle(Scenario scenario) {
+        }
+
+        @Override
+        public void endOfScenarioLifeCycle(Scenario scenario) {
+        }
+    }
+}
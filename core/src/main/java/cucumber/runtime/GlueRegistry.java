@@ -0,0 +1,128 @@
+package cucumber.runtime;
+
+import cucumber.runtime.io.ResourceLoader;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the backends of finished {@link Runtime}s, together with the step definitions and hooks they loaded, so that
+ * a later Runtime for the same class loader and glue paths can reuse them instead of instantiating backends and
+ * loading glue again. This avoids scanning the same glue packages for every runner class in a test JVM. Runtimes
+ * only use the registry when they are run with {@code --reuse-glue}.
+ * <p/>
+ * Backends hold per-scenario state, so a set of backends is only ever used by one Runtime at a time. A Runtime
+ * takes a set out of the registry when it is created, and puts it back when it is done with
+ * {@link Runtime#releaseGlue()}.
+ * <p/>
+ * The registry doesn't keep class loaders alive: they are weakly referenced, and the backends, which reference
+ * the glue classes and therefore their class loader, are softly referenced.
+ */
+public class GlueRegistry {
+    private static final Map<ClassLoader, Map<Key, LinkedList<SoftReference<LoadedGlue>>>> idleGlue = new WeakHashMap<ClassLoader, Map<Key, LinkedList<SoftReference<LoadedGlue>>>>();
+
+    private GlueRegistry() {
+    }
+
+    /**
+     * @return previously loaded backends and glue that aren't used by another Runtime, or null if there are none.
+     */
+    static synchronized LoadedGlue checkOut(ClassLoader classLoader, Key key) {
+        Map<Key, LinkedList<SoftReference<LoadedGlue>>> glueByKey = idleGlue.get(classLoader);
+        LinkedList<SoftReference<LoadedGlue>> loadedGlues = glueByKey == null ? null : glueByKey.get(key);
+        while (loadedGlues != null && !loadedGlues.isEmpty()) {
+            LoadedGlue loadedGlue = loadedGlues.removeFirst().get();
+            if (loadedGlue != null) {
+                return loadedGlue;
+            }
+        }
+        return null;
+    }
+
+    static synchronized void checkIn(ClassLoader classLoader, Key key, LoadedGlue loadedGlue) {
+        Map<Key, LinkedList<SoftReference<LoadedGlue>>> glueByKey = idleGlue.get(classLoader);
+        if (glueByKey == null) {
+            glueByKey = new HashMap<Key, LinkedList<SoftReference<LoadedGlue>>>();
+            idleGlue.put(classLoader, glueByKey);
+        }
+        LinkedList<SoftReference<LoadedGlue>> loadedGlues = glueByKey.get(key);
+        if (loadedGlues == null) {
+            loadedGlues = new LinkedList<SoftReference<LoadedGlue>>();
+            glueByKey.put(key, loadedGlues);
+        }
+        loadedGlues.addFirst(new SoftReference<LoadedGlue>(loadedGlue));
+    }
+
+    /**
+     * Forgets all the backends and glue kept so far. Runtimes created afterwards load their glue again.
+     */
+    public static synchronized void clear() {
+        idleGlue.clear();
+    }
+
+    /**
+     * A set of backends and what they added to the glue when they were loaded.
+     */
+    static class LoadedGlue {
+        final Collection<? extends Backend> backends;
+        private final List<StepDefinition> stepDefinitions;
+        private final List<HookDefinition> beforeHooks;
+        private final List<HookDefinition> afterHooks;
+
+        LoadedGlue(Collection<? extends Backend> backends, RuntimeGlue glue) {
+            this.backends = backends;
+            this.stepDefinitions = new ArrayList<StepDefinition>(glue.getStepDefinitions());
+            this.beforeHooks = new ArrayList<HookDefinition>(glue.getBeforeHooks());
+            this.afterHooks = new ArrayList<HookDefinition>(glue.getAfterHooks());
+        }
+
+        void addTo(Glue glue) {
+            for (StepDefinition stepDefinition : stepDefinitions) {
+                glue.addStepDefinition(stepDefinition);
+            }
+            for (HookDefinition beforeHook : beforeHooks) {
+                glue.addBeforeHook(beforeHook);
+            }
+            for (HookDefinition afterHook : afterHooks) {
+                glue.addAfterHook(afterHook);
+            }
+        }
+    }
+
+    /**
+     * What has to be the same for two Runtimes of a class loader to load the same glue: the glue paths, and how
+     * backends and their object factories are found.
+     */
+    static class Key {
+        private final List<String> gluePaths;
+        private final Class<?> resourceLoaderType;
+        private final Class<?> classFinderType;
+
+        Key(List<String> gluePaths, ResourceLoader resourceLoader, ClassFinder classFinder) {
+            this.gluePaths = new ArrayList<String>(gluePaths);
+            this.resourceLoaderType = resourceLoader == null ? null : resourceLoader.getClass();
+            this.classFinderType = classFinder.getClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return gluePaths.equals(other.gluePaths) && resourceLoaderType == other.resourceLoaderType
+                    && classFinderType == other.classFinderType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * gluePaths.hashCode() + System.identityHashCode(resourceLoaderType)) + classFinderType.hashCode();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package cucumber.runtime;
+
+import gherkin.formatter.model.Tag;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers which hooks match each distinct set of tag names, so that hooks are only matched against the tags
+ * of the first scenario with those tags. Most scenarios share their tags with others, so this saves evaluating
+ * every hook's tag expression for every scenario.
+ */
+class HookMatcher {
+    private final Map<BitSet, List<HookDefinition>> matchingHooksByTags = new HashMap<BitSet, List<HookDefinition>>();
+    private List<HookDefinition> hooks;
+    private int hookCount;
+
+    /**
+     * @param hooks the hooks to choose from
+     * @param tags  the tags of a scenario
+     * @return the hooks that match the tags, in the order of {@code hooks}
+     */
+    List<HookDefinition> matching(List<HookDefinition> hooks, Collection<Tag> tags) {
+        if (hooks != this.hooks || hooks.size() != hookCount) {
+            this.hooks = hooks;
+            this.hookCount = hooks.size();
+            matchingHooksByTags.clear();
+        }
+        BitSet key = TagSet.bitsOf(tags);
+        List<HookDefinition> matchingHooks = matchingHooksByTags.get(key);
+        if (matchingHooks == null) {
+            matchingHooks = new ArrayList<HookDefinition>();
+            for (HookDefinition hook : hooks) {
+                if (hook.matches(tags)) {
+                    matchingHooks.add(hook);
+                }
+            }
+            matchingHooksByTags.put((BitSet) key.clone(), matchingHooks);
+        }
+        return matchingHooks;
+    }
+}
@@ -0,0 +1,15 @@
+package cucumber.runtime;
+
+import java.util.regex.Pattern;
+
+/**
+ * A step definition that matches steps with a {@link Pattern}, the way {@link JdkPatternArgumentMatcher} does.
+ * Only those can be narrowed down by the literal text their pattern starts with; step definitions from backends
+ * with other regular expression engines are always tried.
+ */
+public interface JdkPatternStepDefinition extends StepDefinition {
+    /**
+     * @return the pattern steps are matched with
+     */
+    Pattern getJdkPattern();
+}
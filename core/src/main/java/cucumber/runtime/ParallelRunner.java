@@ -0,0 +1,226 @@
+package cucumber.runtime;
+
+import cucumber.runtime.model.CucumberExamples;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import cucumber.runtime.model.CucumberTagStatement;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs scenarios (and expanded Scenario Outline examples) on a pool of worker {@link Runtime}s.
+ * <p/>
+ * Each worker has its own backends, glue and per-scenario state, and runs one scenario at a time.
+ * Formatter and reporter events are recorded per scenario and replayed in feature order, so plugins
+ * see the same sequence of events as in a sequential run.
+ * <p/>
+ * Given a {@link DurationHistory}, scenarios are started slowest first, so that the run doesn't end with a
+ * long scenario on one worker while the others are idle. The events are still replayed in feature order.
+ */
+class ParallelRunner {
+    private final List<Runtime> workers;
+    private final DurationHistory durationHistory;
+
+    ParallelRunner(List<Runtime> workers) {
+        this(workers, null);
+    }
+
+    ParallelRunner(List<Runtime> workers, DurationHistory durationHistory) {
+        this.workers = workers;
+        this.durationHistory = durationHistory;
+    }
+
+    public void run(List<CucumberFeature> features, Formatter formatter, Reporter reporter) {
+        BlockingQueue<Runtime> idleWorkers = new LinkedBlockingQueue<Runtime>(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size(), new WorkerThreadFactory());
+        try {
+            List<Future<EventRecorder>> units = startUnits(features, idleWorkers, executor);
+            for (int i = 0; i < units.size(); i++) {
+                await(units.get(i)).replay(formatter, reporter);
+                // Let the recorded events be garbage collected
+                units.set(i, null);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Submits the scenarios of the features to the executor. The tasks are only listed in here, so that nothing but
+     * the returned list refers to a unit, and its recorded events can be garbage collected once it's replayed.
+     *
+     * @return the units of the features, in feature order
+     */
+    private List<Future<EventRecorder>> startUnits(List<CucumberFeature> features, BlockingQueue<Runtime> idleWorkers, ExecutorService executor) {
+        List<Future<EventRecorder>> units = new ArrayList<Future<EventRecorder>>();
+        List<ScenarioTask> tasks = new ArrayList<ScenarioTask>();
+        for (CucumberFeature cucumberFeature : features) {
+            addUnits(units, tasks, cucumberFeature, idleWorkers);
+        }
+        for (ScenarioTask task : startOrder(tasks)) {
+            executor.execute(task);
+        }
+        return units;
+    }
+
+    private void addUnits(List<Future<EventRecorder>> units, List<ScenarioTask> tasks, CucumberFeature cucumberFeature, BlockingQueue<Runtime> idleWorkers) {
+        EventRecorder header = new EventRecorder();
+        header.formatter().uri(cucumberFeature.getPath());
+        header.formatter().feature(cucumberFeature.getGherkinFeature());
+        units.add(completed(header));
+
+        for (CucumberTagStatement cucumberTagStatement : cucumberFeature.getFeatureElements()) {
+            if (cucumberTagStatement instanceof CucumberScenarioOutline) {
+                CucumberScenarioOutline cucumberScenarioOutline = (CucumberScenarioOutline) cucumberTagStatement;
+                EventRecorder outline = new EventRecorder();
+                cucumberScenarioOutline.format(outline.formatter());
+                units.add(completed(outline));
+                for (CucumberExamples cucumberExamples : cucumberScenarioOutline.getCucumberExamplesList()) {
+                    EventRecorder examples = new EventRecorder();
+                    cucumberExamples.format(examples.formatter());
+                    units.add(completed(examples));
+                    for (int i = 0; i < cucumberExamples.getExampleCount(); i++) {
+                        addTask(units, tasks, new ScenarioTask(cucumberExamples, i, idleWorkers));
+                    }
+                }
+            } else {
+                addTask(units, tasks, new ScenarioTask(cucumberTagStatement, idleWorkers));
+            }
+        }
+
+        EventRecorder footer = new EventRecorder();
+        footer.formatter().eof();
+        units.add(completed(footer));
+    }
+
+    private static void addTask(List<Future<EventRecorder>> units, List<ScenarioTask> tasks, ScenarioTask task) {
+        units.add(task);
+        tasks.add(task);
+    }
+
+    private List<ScenarioTask> startOrder(List<ScenarioTask> tasks) {
+        if (durationHistory == null) {
+            return tasks;
+        }
+        List<String> ids = new ArrayList<String>();
+        for (ScenarioTask task : tasks) {
+            ids.add(task.getId());
+        }
+        final long[] durations = DurationHistory.estimateDurations(durationHistory.getDurations(), ids);
+        final Map<ScenarioTask, Integer> indexes = new IdentityHashMap<ScenarioTask, Integer>();
+        for (int i = 0; i < tasks.size(); i++) {
+            indexes.put(tasks.get(i), i);
+        }
+        List<ScenarioTask> slowestFirst = new ArrayList<ScenarioTask>(tasks);
+        Collections.sort(slowestFirst, new Comparator<ScenarioTask>() {
+            @Override
+            public int compare(ScenarioTask a, ScenarioTask b) {
+                int i = indexes.get(a);
+                int j = indexes.get(b);
+                if (durations[i] != durations[j]) {
+                    return durations[i] > durations[j] ? -1 : 1;
+                }
+                return i - j;
+            }
+        });
+        return slowestFirst;
+    }
+
+    private static Future<EventRecorder> completed(final EventRecorder recorder) {
+        FutureTask<EventRecorder> future = new FutureTask<EventRecorder>(new Callable<EventRecorder>() {
+            @Override
+            public EventRecorder call() {
+                return recorder;
+            }
+        });
+        future.run();
+        return future;
+    }
+
+    private static EventRecorder await(Future<EventRecorder> unit) {
+        try {
+            return unit.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            throw new CucumberException(e.getCause());
+        }
+    }
+
+    private static class ScenarioTask extends FutureTask<EventRecorder> {
+        private final String id;
+
+        ScenarioTask(CucumberTagStatement cucumberTagStatement, BlockingQueue<Runtime> idleWorkers) {
+            super(new ScenarioRun(cucumberTagStatement, null, 0, idleWorkers));
+            this.id = cucumberTagStatement.getGherkinModel().getId();
+        }
+
+        ScenarioTask(CucumberExamples cucumberExamples, int exampleIndex, BlockingQueue<Runtime> idleWorkers) {
+            super(new ScenarioRun(null, cucumberExamples, exampleIndex, idleWorkers));
+            this.id = cucumberExamples.getExamples().getRows().get(exampleIndex + 1).getId();
+        }
+
+        String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Runs a scenario, or an example row of a Scenario Outline, which is only expanded to a scenario when it runs.
+     */
+    private static class ScenarioRun implements Callable<EventRecorder> {
+        private final CucumberTagStatement cucumberTagStatement;
+        private final CucumberExamples cucumberExamples;
+        private final int exampleIndex;
+        private final BlockingQueue<Runtime> idleWorkers;
+
+        ScenarioRun(CucumberTagStatement cucumberTagStatement, CucumberExamples cucumberExamples, int exampleIndex, BlockingQueue<Runtime> idleWorkers) {
+            this.cucumberTagStatement = cucumberTagStatement;
+            this.cucumberExamples = cucumberExamples;
+            this.exampleIndex = exampleIndex;
+            this.idleWorkers = idleWorkers;
+        }
+
+        @Override
+        public EventRecorder call() throws InterruptedException {
+            CucumberTagStatement scenario = cucumberTagStatement != null ? cucumberTagStatement : cucumberExamples.createExampleScenario(exampleIndex);
+            EventRecorder recorder = new EventRecorder();
+            Runtime worker = idleWorkers.take();
+            try {
+                scenario.run(recorder.formatter(), recorder.reporter(), worker);
+            } finally {
+                idleWorkers.put(worker);
+            }
+            return recorder;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
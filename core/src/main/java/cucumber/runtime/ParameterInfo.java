@@ -119,40 +119,51 @@ public class ParameterInfo {
     }
 
     public Object convert(String value, LocalizedXStreams.LocalizedXStream xStream) {
-        try {
-            xStream.setParameterInfo(this);
-            SingleValueConverter converter;
+        // Converters are resolved once per XStream (and therefore Locale), which keeps them for every conversion.
+        SingleValueConverter converter = xStream.getParameterConverter(this);
+        if (converter == null) {
+            converter = resolveConverter(value, xStream);
+            xStream.putParameterConverter(this, converter);
+        }
+        if (transformer != null) {
+            transformer.setParameterInfoAndLocale(this, xStream.getLocale());
+            return transformer.fromString(value);
+        }
+        return xStream.fromString(converter, value, format);
+    }
+
+    private SingleValueConverter resolveConverter(String value, LocalizedXStreams.LocalizedXStream xStream) {
+        // Registering annotated converters changes the XStream, so parameters that are resolved at the same time
+        // take turns. The result is cached, so conversions don't lock.
+        synchronized (xStream) {
             xStream.processAnnotations(getRawType());
             xStream.autodetectAnnotations(true); // Needed to unlock annotation processing
+        }
 
-            if (transformer != null) {
-                transformer.setParameterInfoAndLocale(this, xStream.getLocale());
-                converter = transformer;
-            } else {
-                if (List.class.isAssignableFrom(getRawType())) {
-                    converter = getListConverter(type, xStream);
-                } else {
-                    converter = xStream.getSingleValueConverter(getRawType());
-                }
-                if (converter == null) {
-                    throw new CucumberException(String.format(
-                            "Don't know how to convert \"%s\" into %s.\n" +
-                                    "Try writing your own converter:\n" +
-                                    "\n" +
-                                    "@%s(%sConverter.class)\n" +
-                                    "public class %s {}\n",
-                            value,
-                            getRawType().getName(),
-                            XStreamConverter.class.getName(),
-                            getRawType().getSimpleName(),
-                            getRawType().getSimpleName()
-                    ));
-                }
-            }
-            return converter.fromString(value);
-        } finally {
-            xStream.unsetParameterInfo();
+        if (transformer != null) {
+            return transformer;
+        }
+        SingleValueConverter converter;
+        if (List.class.isAssignableFrom(getRawType())) {
+            converter = getListConverter(type, xStream);
+        } else {
+            converter = xStream.getSingleValueConverter(getRawType());
+        }
+        if (converter == null) {
+            throw new CucumberException(String.format(
+                    "Don't know how to convert \"%s\" into %s.\n" +
+                            "Try writing your own converter:\n" +
+                            "\n" +
+                            "@%s(%sConverter.class)\n" +
+                            "public class %s {}\n",
+                    value,
+                    getRawType().getName(),
+                    XStreamConverter.class.getName(),
+                    getRawType().getSimpleName(),
+                    getRawType().getSimpleName()
+            ));
         }
+        return converter;
     }
 
     private SingleValueConverter getListConverter(Type type, LocalizedXStreams.LocalizedXStream xStream) {
@@ -3,6 +3,7 @@ package cucumber.runtime;
 import cucumber.api.Pending;
 import cucumber.api.StepDefinitionReporter;
 import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberBackground;
 import cucumber.runtime.model.CucumberFeature;
 import cucumber.runtime.xstream.LocalizedXStreams;
 import gherkin.I18n;
@@ -18,12 +19,14 @@ import gherkin.formatter.model.Scenario;
 import gherkin.formatter.model.Step;
 import gherkin.formatter.model.Tag;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -41,6 +44,7 @@ public class Runtime implements UnreportedStepExecutor {
     }
 
     private static final Object DUMMY_ARG = new Object();
+    private static final Match REUSED_BACKGROUND_MATCH = new Match(Collections.<Argument>emptyList(), "reused background");
     private static final byte ERRORS = 0x1;
 
     private final Stats stats;
@@ -52,16 +56,33 @@ public class Runtime implements UnreportedStepExecutor {
     private final List<Throwable> errors = new ArrayList<Throwable>();
     private final Collection<? extends Backend> backends;
     private final ResourceLoader resourceLoader;
+    private final ClassFinder classFinder;
     private final ClassLoader classLoader;
     private final StopWatch stopWatch;
+    private final GlueRegistry.Key glueKey;
+    private GlueRegistry.LoadedGlue loadedGlue;
+    private final FailFast failFast;
+    private final HookMatcher beforeHookMatcher = new HookMatcher();
+    private final HookMatcher afterHookMatcher = new HookMatcher();
+    // Only the snapshots of the Background of the feature being run are kept
+    private CucumberBackground snapshotBackground;
+    private List<Object> backgroundSnapshots;
 
     //TODO: These are really state machine variables, and I'm not sure the runtime is the best place for this state machine
-    //They really should be created each time a scenario is run, not in here
+    //They really should be created each time a scenario is run, not in here. When running with --threads each worker
+    //has its own Runtime, so they are never shared between concurrently running scenarios.
     private boolean skipNextStep = false;
+    private boolean skipScenario = false;
     private ScenarioImpl scenarioResult = null;
 
+    /**
+     * Creates a Runtime that finds its own backends. With {@code --reuse-glue}, if a previous Runtime for the same
+     * class loader and glue paths has released its backends to the {@link GlueRegistry}, those are reused instead,
+     * with the glue they loaded.
+     */
     public Runtime(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader, RuntimeOptions runtimeOptions) {
-        this(resourceLoader, classLoader, loadBackends(resourceLoader, classFinder), runtimeOptions);
+        this(resourceLoader, classFinder, classLoader, Backends.find(resourceLoader, classFinder, classLoader, runtimeOptions),
+                runtimeOptions, StopWatch.SYSTEM, null, failFast(runtimeOptions));
     }
 
     public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, Collection<? extends Backend> backends, RuntimeOptions runtimeOptions) {
@@ -75,28 +96,55 @@ public class Runtime implements UnreportedStepExecutor {
 
     public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, Collection<? extends Backend> backends,
                    RuntimeOptions runtimeOptions, StopWatch stopWatch, RuntimeGlue optionalGlue) {
-        if (backends.isEmpty()) {
+        this(resourceLoader, null, classLoader, new Backends(backends, null, null), runtimeOptions, stopWatch, optionalGlue, failFast(runtimeOptions));
+    }
+
+    private Runtime(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader, Backends backends,
+                    RuntimeOptions runtimeOptions, StopWatch stopWatch, RuntimeGlue optionalGlue, FailFast failFast) {
+        if (backends.backends.isEmpty()) {
             throw new CucumberException("No backends were found. Please make sure you have a backend module on your CLASSPATH.");
         }
         this.resourceLoader = resourceLoader;
+        this.classFinder = classFinder;
         this.classLoader = classLoader;
-        this.backends = backends;
+        this.backends = backends.backends;
         this.runtimeOptions = runtimeOptions;
         this.stopWatch = stopWatch;
+        this.glueKey = backends.glueKey;
         this.glue = optionalGlue != null ? optionalGlue : new RuntimeGlue(undefinedStepsTracker, new LocalizedXStreams(classLoader));
         this.stats = new Stats(runtimeOptions.isMonochrome());
+        this.failFast = failFast;
 
-        for (Backend backend : backends) {
-            backend.loadGlue(glue, runtimeOptions.getGlue());
+        if (backends.reusedGlue != null) {
+            backends.reusedGlue.addTo(glue);
+            this.loadedGlue = backends.reusedGlue;
+        } else {
+            for (Backend backend : this.backends) {
+                backend.loadGlue(glue, runtimeOptions.getGlue());
+            }
+            // Only Runtimes that found their own backends can hand them over to the next one
+            this.loadedGlue = glueKey != null ? new GlueRegistry.LoadedGlue(this.backends, (RuntimeGlue) glue) : null;
+        }
+        for (Backend backend : this.backends) {
             backend.setUnreportedStepExecutor(this);
         }
     }
 
-    private static Collection<? extends Backend> loadBackends(ResourceLoader resourceLoader, ClassFinder classFinder) {
-        Reflections reflections = new Reflections(classFinder);
-        return reflections.instantiateSubclasses(Backend.class, "cucumber.runtime", new Class[]{ResourceLoader.class}, new Object[]{resourceLoader});
+    /**
+     * Creates a worker of a parallel run, which finds its own backends like the Runtime it works for, and counts
+     * failed scenarios together with the other workers.
+     */
+    private static Runtime forWorker(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader,
+                                     RuntimeOptions runtimeOptions, FailFast failFast) {
+        return new Runtime(resourceLoader, classFinder, classLoader, Backends.find(resourceLoader, classFinder, classLoader, runtimeOptions),
+                runtimeOptions, StopWatch.SYSTEM, null, failFast);
+    }
+
+    private static FailFast failFast(RuntimeOptions runtimeOptions) {
+        return runtimeOptions.getFailFast() > 0 ? new FailFast(runtimeOptions.getFailFast()) : null;
     }
 
+
     public void addError(Throwable error) {
         errors.add(error);
     }
@@ -116,13 +164,63 @@ public class Runtime implements UnreportedStepExecutor {
 
         glue.reportStepDefinitions(stepDefinitionReporter);
 
-        for (CucumberFeature cucumberFeature : features) {
-            cucumberFeature.run(formatter, reporter, this);
+        try {
+            if (runtimeOptions.getThreads() > 1) {
+                runInParallel(features, formatter, reporter, runtimeOptions.getThreads());
+            } else {
+                for (CucumberFeature cucumberFeature : features) {
+                    cucumberFeature.run(formatter, reporter, this);
+                }
+            }
+
+            formatter.done();
+            formatter.close();
+            printSummary();
+        } finally {
+            releaseGlue();
+        }
+    }
+
+    private void runInParallel(List<CucumberFeature> features, Formatter formatter, Reporter reporter, int threads) {
+        if (classFinder == null) {
+            throw new CucumberException("Running with --threads requires a Runtime created with a ClassFinder, so that each worker can load its own backends.");
         }
+        List<Runtime> workers = new ArrayList<Runtime>();
+        workers.add(this);
+        try {
+            for (int i = 1; i < threads; i++) {
+                workers.add(forWorker(resourceLoader, classFinder, classLoader, runtimeOptions, failFast));
+            }
+
+            File durationHistory = runtimeOptions.getSlowestFirst();
+            new ParallelRunner(workers, durationHistory == null ? null : DurationHistory.read(durationHistory)).run(features, formatter, reporter);
 
-        formatter.done();
-        formatter.close();
-        printSummary();
+            for (Runtime worker : workers) {
+                if (worker != this) {
+                    errors.addAll(worker.errors);
+                    stats.addStats(worker.stats);
+                    undefinedStepsTracker.addUndefinedSteps(worker.undefinedStepsTracker);
+                }
+            }
+        } finally {
+            for (Runtime worker : workers) {
+                if (worker != this) {
+                    worker.releaseGlue();
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands the backends and the glue they loaded over to the {@link GlueRegistry}, so that the next Runtime
+     * created for the same class loader and glue paths doesn't have to load them again. This must be the last
+     * thing done with the Runtime. Only the first call has an effect, and none at all without {@code --reuse-glue}.
+     */
+    public void releaseGlue() {
+        if (loadedGlue != null) {
+            GlueRegistry.checkIn(classLoader, glueKey, loadedGlue);
+            loadedGlue = null;
+        }
     }
 
     public void printSummary() {
@@ -132,11 +230,19 @@ public class Runtime implements UnreportedStepExecutor {
 
     void printStats(PrintStream out) {
         stats.printStats(out);
+        if (failFast != null && failFast.getSkipped() > 0) {
+            int skipped = failFast.getSkipped();
+            out.println(String.format("Skipped %d scenario%s after %d failed (--fail-fast)", skipped, skipped == 1 ? "" : "s", failFast.getMaxFailures()));
+        }
     }
 
     public void buildBackendWorlds(Reporter reporter, Set<Tag> tags, Scenario gherkinScenario) {
-        for (Backend backend : backends) {
-            backend.buildWorld();
+        // With --fail-fast, a scenario that starts after enough scenarios failed is only reported as skipped
+        skipScenario = failFast != null && failFast.skipScenario();
+        if (!skipScenario) {
+            for (Backend backend : backends) {
+                backend.buildWorld();
+            }
         }
         undefinedStepsTracker.reset();
         //TODO: this is the initial state of the state machine, it should not go here, but into something else
@@ -146,6 +252,12 @@ public class Runtime implements UnreportedStepExecutor {
 
     public void disposeBackendWorlds() {
         stats.addScenario(scenarioResult.getStatus());
+        if (skipScenario) {
+            return;
+        }
+        if (failFast != null && scenarioResult.isFailed()) {
+            failFast.scenarioFailed();
+        }
         for (Backend backend : backends) {
             backend.disposeWorld();
         }
@@ -196,44 +308,89 @@ public class Runtime implements UnreportedStepExecutor {
         return glue;
     }
 
+    /**
+     * For a Background that runs once per feature: restores the world to the state it had after the Background
+     * ran for an earlier scenario of the feature on this Runtime, and reports the Background steps as reused.
+     *
+     * @return true if the Background was reused, false if its steps have to be run
+     */
+    public boolean reuseBackground(CucumberBackground background, Reporter reporter) {
+        if (background != snapshotBackground) {
+            // A new feature started, so the snapshots of the previous one won't be restored again
+            snapshotBackground = null;
+            backgroundSnapshots = null;
+        }
+        if (backgroundSnapshots == null || skipScenario || skipNextStep) {
+            return false;
+        }
+        Iterator<Object> snapshot = backgroundSnapshots.iterator();
+        for (Backend backend : backends) {
+            ((SnapshotBackend) backend).restoreWorld(snapshot.next());
+        }
+        for (int i = 0; i < background.getSteps().size(); i++) {
+            reporter.match(REUSED_BACKGROUND_MATCH);
+            Result result = new Result(Result.PASSED, 0L, null, DUMMY_ARG);
+            addStepToCounterAndResult(result);
+            reporter.result(result);
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the state the world has after the Background ran, for {@link #reuseBackground}. Nothing is kept if
+     * the Background didn't pass, or if a backend doesn't implement {@link SnapshotBackend}.
+     */
+    public void keepBackground(CucumberBackground background) {
+        if (skipScenario || skipNextStep || background == snapshotBackground) {
+            return;
+        }
+        List<Object> snapshots = new ArrayList<Object>();
+        for (Backend backend : backends) {
+            if (!(backend instanceof SnapshotBackend)) {
+                return;
+            }
+            snapshots.add(((SnapshotBackend) backend).snapshotWorld());
+        }
+        snapshotBackground = background;
+        backgroundSnapshots = snapshots;
+    }
+
     public void runBeforeHooks(Reporter reporter, Set<Tag> tags) {
-        runHooks(glue.getBeforeHooks(), reporter, tags, true);
+        runHooks(beforeHookMatcher, glue.getBeforeHooks(), reporter, tags, true);
     }
 
     public void runAfterHooks(Reporter reporter, Set<Tag> tags) {
-        runHooks(glue.getAfterHooks(), reporter, tags, false);
+        runHooks(afterHookMatcher, glue.getAfterHooks(), reporter, tags, false);
     }
 
-    private void runHooks(List<HookDefinition> hooks, Reporter reporter, Set<Tag> tags, boolean isBefore) {
-        if (!runtimeOptions.isDryRun()) {
-            for (HookDefinition hook : hooks) {
-                runHookIfTagsMatch(hook, reporter, tags, isBefore);
+    private void runHooks(HookMatcher hookMatcher, List<HookDefinition> hooks, Reporter reporter, Set<Tag> tags, boolean isBefore) {
+        if (!runtimeOptions.isDryRun() && !skipScenario) {
+            for (HookDefinition hook : hookMatcher.matching(hooks, tags)) {
+                runHook(hook, reporter, isBefore);
             }
         }
     }
 
-    private void runHookIfTagsMatch(HookDefinition hook, Reporter reporter, Set<Tag> tags, boolean isBefore) {
-        if (hook.matches(tags)) {
-            String status = Result.PASSED;
-            Throwable error = null;
-            Match match = new Match(Collections.<Argument>emptyList(), hook.getLocation(false));
-            stopWatch.start();
-            try {
-                hook.execute(scenarioResult);
-            } catch (Throwable t) {
-                error = t;
-                status = isPending(t) ? "pending" : Result.FAILED;
-                addError(t);
-                skipNextStep = true;
-            } finally {
-                long duration = stopWatch.stop();
-                Result result = new Result(status, duration, error, DUMMY_ARG);
-                addHookToCounterAndResult(result);
-                if (isBefore) {
-                    reporter.before(match, result);
-                } else {
-                    reporter.after(match, result);
-                }
+    private void runHook(HookDefinition hook, Reporter reporter, boolean isBefore) {
+        String status = Result.PASSED;
+        Throwable error = null;
+        Match match = new Match(Collections.<Argument>emptyList(), hook.getLocation(false));
+        stopWatch.start();
+        try {
+            hook.execute(scenarioResult);
+        } catch (Throwable t) {
+            error = t;
+            status = isPending(t) ? "pending" : Result.FAILED;
+            addError(t);
+            skipNextStep = true;
+        } finally {
+            long duration = stopWatch.stop();
+            Result result = new Result(status, duration, error, DUMMY_ARG);
+            addHookToCounterAndResult(result);
+            if (isBefore) {
+                reporter.before(match, result);
+            } else {
+                reporter.after(match, result);
             }
         }
     }
@@ -259,6 +416,13 @@ public class Runtime implements UnreportedStepExecutor {
     }
 
     public void runStep(String featurePath, Step step, Reporter reporter, I18n i18n) {
+        if (skipScenario) {
+            reporter.match(skippedStepMatch(featurePath, step, i18n));
+            addStepToCounterAndResult(Result.SKIPPED);
+            reporter.result(Result.SKIPPED);
+            return;
+        }
+
         StepDefinitionMatch match;
 
         try {
@@ -310,6 +474,15 @@ public class Runtime implements UnreportedStepExecutor {
         }
     }
 
+    private Match skippedStepMatch(String featurePath, Step step, I18n i18n) {
+        try {
+            StepDefinitionMatch match = glue.stepDefinitionMatch(featurePath, step, i18n);
+            return match != null ? match : Match.UNDEFINED;
+        } catch (AmbiguousStepDefinitionsException e) {
+            return e.getMatches().get(0);
+        }
+    }
+
     public static boolean isPending(Throwable t) {
         if (t == null) {
             return false;
@@ -326,4 +499,34 @@ public class Runtime implements UnreportedStepExecutor {
         scenarioResult.add(result);
         stats.addHookTime(result.getDuration());
     }
+
+    /**
+     * The backends of a Runtime, and with {@code --reuse-glue}, where to hand them over to when it's done.
+     */
+    private static class Backends {
+        private final Collection<? extends Backend> backends;
+        private final GlueRegistry.Key glueKey;
+        private final GlueRegistry.LoadedGlue reusedGlue;
+
+        Backends(Collection<? extends Backend> backends, GlueRegistry.Key glueKey, GlueRegistry.LoadedGlue reusedGlue) {
+            this.backends = backends;
+            this.glueKey = glueKey;
+            this.reusedGlue = reusedGlue;
+        }
+
+        /**
+         * @return the backends released by an earlier Runtime, or new ones found with the class finder
+         */
+        static Backends find(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader, RuntimeOptions runtimeOptions) {
+            GlueRegistry.Key glueKey = runtimeOptions.isReuseGlue() ? new GlueRegistry.Key(runtimeOptions.getGlue(), resourceLoader, classFinder) : null;
+            GlueRegistry.LoadedGlue reusedGlue = glueKey == null ? null : GlueRegistry.checkOut(classLoader, glueKey);
+            if (reusedGlue != null) {
+                return new Backends(reusedGlue.backends, glueKey, reusedGlue);
+            }
+            Reflections reflections = new Reflections(classFinder);
+            Collection<? extends Backend> backends = reflections.instantiateSubclasses(Backend.class, "cucumber.runtime",
+                    new Class[]{ResourceLoader.class}, new Object[]{resourceLoader});
+            return new Backends(backends, glueKey, null);
+        }
+    }
 }
@@ -7,6 +7,7 @@ import gherkin.formatter.Argument;
 import gherkin.formatter.model.Step;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,8 @@ import java.util.TreeMap;
 
 public class RuntimeGlue implements Glue {
     private final Map<String, StepDefinition> stepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
+    private final StepDefinitionIndex stepDefinitionIndex = new StepDefinitionIndex();
+    private final StepDefinitionMatchCache matchCache = new StepDefinitionMatchCache();
     private final List<HookDefinition> beforeHooks = new ArrayList<HookDefinition>();
     private final List<HookDefinition> afterHooks = new ArrayList<HookDefinition>();
 
@@ -32,6 +35,8 @@ public class RuntimeGlue implements Glue {
             throw new DuplicateStepDefinitionException(previous, stepDefinition);
         }
         stepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        stepDefinitionIndex.add(stepDefinition);
+        matchCache.clear();
     }
 
     @Override
@@ -58,7 +63,7 @@ public class RuntimeGlue implements Glue {
 
     @Override
     public StepDefinitionMatch stepDefinitionMatch(String featurePath, Step step, I18n i18n) {
-        List<StepDefinitionMatch> matches = stepDefinitionMatches(featurePath, step);
+        List<StepDefinitionMatch> matches = stepDefinitionMatches(featurePath, step, i18n);
         try {
             if (matches.size() == 0) {
                 tracker.addUndefinedStep(step, i18n);
@@ -74,17 +79,51 @@ public class RuntimeGlue implements Glue {
         }
     }
 
-    private List<StepDefinitionMatch> stepDefinitionMatches(String featurePath, Step step) {
-        List<StepDefinitionMatch> result = new ArrayList<StepDefinitionMatch>();
-        for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
+    private List<StepDefinitionMatch> stepDefinitionMatches(String featurePath, Step step, I18n i18n) {
+        List<StepDefinitionMatchCache.Resolved> resolved = matchCache.get(step.getName(), i18n);
+        if (resolved == null) {
+            resolved = resolve(step);
+            matchCache.put(step.getName(), i18n, resolved);
+        }
+        List<StepDefinitionMatch> result = new ArrayList<StepDefinitionMatch>(resolved.size());
+        for (StepDefinitionMatchCache.Resolved match : resolved) {
+            result.add(new StepDefinitionMatch(match.arguments, match.stepDefinition, featurePath, step, localizedXStreams));
+        }
+        return result;
+    }
+
+    private List<StepDefinitionMatchCache.Resolved> resolve(Step step) {
+        List<StepDefinitionMatchCache.Resolved> result = new ArrayList<StepDefinitionMatchCache.Resolved>();
+        for (StepDefinition stepDefinition : stepDefinitionIndex.candidates(step.getName())) {
             List<Argument> arguments = stepDefinition.matchedArguments(step);
             if (arguments != null) {
-                result.add(new StepDefinitionMatch(arguments, stepDefinition, featurePath, step, localizedXStreams));
+                result.add(new StepDefinitionMatchCache.Resolved(stepDefinition, arguments));
             }
         }
         return result;
     }
 
+    /**
+     * @return how many steps were matched using previously resolved step definitions
+     */
+    public long getMatchCacheHits() {
+        return matchCache.getHits();
+    }
+
+    /**
+     * @return how many steps had to be matched against the step definitions
+     */
+    public long getMatchCacheMisses() {
+        return matchCache.getMisses();
+    }
+
+    /**
+     * @return the step definitions, in pattern order
+     */
+    Collection<StepDefinition> getStepDefinitions() {
+        return stepDefinitionsByPattern.values();
+    }
+
     @Override
     public void reportStepDefinitions(StepDefinitionReporter stepDefinitionReporter) {
         for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
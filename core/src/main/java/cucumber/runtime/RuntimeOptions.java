@@ -7,10 +7,12 @@ import cucumber.runtime.formatter.PluginFactory;
 import cucumber.runtime.formatter.StrictAware;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.shard.Shard;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.util.FixJava;
 
+import java.io.File;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -36,6 +38,14 @@ public class RuntimeOptions {
     private boolean strict = false;
     private boolean monochrome = false;
     private SnippetType snippetType = SnippetType.UNDERSCORE;
+    private int threads = 1;
+    private File featureCacheDir;
+    private File slowestFirst;
+    private int failFast = 0;
+    private boolean reuseGlue = false;
+    private String shardOption;
+    private String shardStrategyOption;
+    private Shard shard;
     private boolean pluginNamesInstantiated;
 
     /**
@@ -82,6 +92,9 @@ public class RuntimeOptions {
         if (pluginNames.isEmpty()) {
             pluginNames.add("progress");
         }
+        if (shardOption != null) {
+            shard = Shard.parse(shardOption, shardStrategyOption);
+        }
     }
 
     private void parse(List<String> args) {
@@ -114,9 +127,24 @@ public class RuntimeOptions {
                 strict = !arg.startsWith("--no-");
             } else if (arg.equals("--no-monochrome") || arg.equals("--monochrome") || arg.equals("-m")) {
                 monochrome = !arg.startsWith("--no-");
+            } else if (arg.equals("--no-reuse-glue") || arg.equals("--reuse-glue")) {
+                reuseGlue = !arg.startsWith("--no-");
             } else if (arg.equals("--snippets")) {
                 String nextArg = args.remove(0);
                 snippetType = SnippetType.fromString(nextArg);
+            } else if (arg.equals("--threads")) {
+                String nextArg = args.remove(0);
+                threads = parsePositiveInt(arg, nextArg);
+            } else if (arg.equals("--fail-fast")) {
+                failFast = !args.isEmpty() && args.get(0).matches("\\d+") ? parsePositiveInt(arg, args.remove(0)) : 1;
+            } else if (arg.equals("--slowest-first")) {
+                slowestFirst = new File(args.remove(0));
+            } else if (arg.equals("--shard")) {
+                shardOption = args.remove(0);
+            } else if (arg.equals("--shard-strategy")) {
+                shardStrategyOption = args.remove(0);
+            } else if (arg.equals("--feature-cache")) {
+                featureCacheDir = new File(args.remove(0));
             } else if (arg.equals("--name") || arg.equals("-n")) {
                 String nextArg = args.remove(0);
                 Pattern patternFilter = Pattern.compile(nextArg);
@@ -142,12 +170,26 @@ public class RuntimeOptions {
         }
     }
 
+    private int parsePositiveInt(String option, String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result < 1) {
+                throw new CucumberException(option + " must be at least 1, but was " + value);
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new CucumberException(option + " must be a number, but was " + value, e);
+        }
+    }
+
     private void printUsage() {
         System.out.println(USAGE);
     }
 
     public List<CucumberFeature> cucumberFeatures(ResourceLoader resourceLoader) {
-        return load(resourceLoader, featurePaths, filters, System.out);
+        FeatureCache featureCache = featureCacheDir == null ? null : new FeatureCache(featureCacheDir);
+        List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters, featureCache, System.out);
+        return shard == null ? cucumberFeatures : shard.select(cucumberFeatures);
     }
 
     List<Object> getPlugins() {
@@ -243,4 +285,39 @@ public class RuntimeOptions {
     public SnippetType getSnippetType() {
         return snippetType;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the number of failed scenarios after which the remaining scenarios are skipped, or 0 to run all
+     * scenarios
+     */
+    public int getFailFast() {
+        return failFast;
+    }
+
+    /**
+     * @return the {@link DurationHistory} file to order the scenarios of a parallel run by, or null to run them
+     * in feature order
+     */
+    public File getSlowestFirst() {
+        return slowestFirst;
+    }
+
+    /**
+     * @return whether Runtimes hand their backends and glue over to later Runtimes through the {@link GlueRegistry}
+     */
+    public boolean isReuseGlue() {
+        return reuseGlue;
+    }
+
+    public File getFeatureCacheDir() {
+        return featureCacheDir;
+    }
+
+    public Shard getShard() {
+        return shard;
+    }
 }
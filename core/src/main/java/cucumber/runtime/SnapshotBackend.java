@@ -0,0 +1,25 @@
+package cucumber.runtime;
+
+/**
+ * A {@link Backend} that can carry the state of its world over to the world of a later scenario. Features tagged
+ * {@value cucumber.runtime.model.CucumberBackground#RUN_ONCE_TAG} use this to run their Background only for
+ * the first scenario, when all backends support it.
+ */
+public interface SnapshotBackend {
+    /**
+     * Invoked after the Background of a scenario passed.
+     *
+     * @return the state of the current world
+     */
+    Object snapshotWorld();
+
+    /**
+     * Invoked instead of running the Background, after {@link Backend#buildWorld()}.
+     *
+     * The same snapshot is restored for every following scenario of the feature, so it must not be changed by
+     * the restored world.
+     *
+     * @param snapshot what {@link #snapshotWorld()} returned for an earlier scenario of the same feature
+     */
+    void restoreWorld(Object snapshot);
+}
@@ -99,6 +99,12 @@ class Stats {
         addTime(duration);
     }
 
+    public void addStats(Stats other) {
+        scenarioSubCounts.add(other.scenarioSubCounts);
+        stepSubCounts.add(other.stepSubCounts);
+        totalDuration += other.totalDuration;
+    }
+
     private void addTime(Long duration) {
         totalDuration += duration != null ? duration : 0;
     }
@@ -127,5 +133,13 @@ class Stats {
         public int getTotal() {
             return passed + failed + skipped + pending + undefined;
         }
+
+        void add(SubCounts other) {
+            passed += other.passed;
+            failed += other.failed;
+            skipped += other.skipped;
+            pending += other.pending;
+            undefined += other.undefined;
+        }
     }
 }
@@ -0,0 +1,201 @@
+package cucumber.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Narrows down which step definitions can possibly match a step, before their regular expressions are run.
+ * <p/>
+ * A step definition whose {@link Pattern} is anchored with {@code ^}, has no flags and starts with plain literal text
+ * can only match steps starting with that text. Those step definitions are stored in a trie keyed by their literal
+ * prefix. Step definitions where no such prefix can be derived safely, including those of backends that don't match
+ * with a {@link Pattern}, are always candidates. Candidates are returned in pattern order, the same order
+ * {@link RuntimeGlue} has always used to match step definitions.
+ */
+class StepDefinitionIndex {
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String QUANTIFIERS = "?*+{";
+    private static final Comparator<StepDefinition> PATTERN_ORDER = new Comparator<StepDefinition>() {
+        @Override
+        public int compare(StepDefinition a, StepDefinition b) {
+            return a.getPattern().compareTo(b.getPattern());
+        }
+    };
+
+    private final Node root = new Node(null);
+    // Bumped whenever a step definition is added, so that the merged candidates cached by the nodes are recomputed
+    private volatile int version;
+
+    public void add(StepDefinition stepDefinition) {
+        String prefix = indexablePrefix(stepDefinition);
+        Node node = root;
+        if (prefix != null) {
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.child(prefix.charAt(i));
+            }
+        }
+        node.stepDefinitions.add(stepDefinition);
+        version++;
+    }
+
+    /**
+     * @param stepName the name of a step
+     * @return the step definitions that may match the step, in pattern order. The result is shared and must not be
+     * modified.
+     */
+    public Iterable<StepDefinition> candidates(String stepName) {
+        Node node = root;
+        for (int i = 0; i < stepName.length(); i++) {
+            Node child = node.children.get(stepName.charAt(i));
+            if (child == null) {
+                break;
+            }
+            node = child;
+        }
+        return node.candidates(version);
+    }
+
+    private static String indexablePrefix(StepDefinition stepDefinition) {
+        if (!(stepDefinition instanceof JdkPatternStepDefinition)) {
+            return null;
+        }
+        Pattern pattern = ((JdkPatternStepDefinition) stepDefinition).getJdkPattern();
+        if (pattern.flags() != 0) {
+            // Flags such as CASE_INSENSITIVE or COMMENTS change how literals match
+            return null;
+        }
+        String prefix = literalPrefix(pattern.pattern());
+        return prefix == null || prefix.isEmpty() ? null : prefix;
+    }
+
+    /**
+     * Derives the literal text every step matched by {@code pattern} must start with.
+     *
+     * @param pattern a regular expression, as returned by {@link StepDefinition#getPattern()}
+     * @return the literal prefix, or null if none can be derived safely
+     */
+    static String literalPrefix(String pattern) {
+        if (pattern == null || !pattern.startsWith("^") || hasInlineFlags(pattern) || hasTopLevelAlternation(pattern)) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder();
+        int i = 1;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    // Character classes (\d, \w), back references and quoting (\Q) are not plain literals
+                    break;
+                }
+                c = pattern.charAt(i + 1);
+                next = i + 2;
+            } else if (META_CHARACTERS.indexOf(c) != -1 || Character.isHighSurrogate(c)) {
+                break;
+            } else {
+                next = i + 1;
+            }
+            if (next < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(next)) != -1) {
+                // The last literal is optional or repeated
+                break;
+            }
+            prefix.append(c);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasInlineFlags(String pattern) {
+        // Flags such as (?i) or (?x) change how literals match, so we don't try to be clever
+        for (int i = pattern.indexOf("(?"); i != -1; i = pattern.indexOf("(?", i + 1)) {
+            if (i + 2 < pattern.length() && ":=!<>".indexOf(pattern.charAt(i + 2)) == -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasTopLevelAlternation(String pattern) {
+        int depth = 0;
+        boolean inCharacterClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inCharacterClass) {
+                if (c == ']') {
+                    inCharacterClass = false;
+                }
+            } else if (c == '[') {
+                inCharacterClass = true;
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A node of the trie. Each node only keeps its own step definitions. The candidates for steps starting with its
+     * prefix, its own step definitions and those of its ancestors, are merged in pattern order when they are first
+     * looked up, and kept until another step definition is added.
+     */
+    private static class Node {
+        private final Node parent;
+        private final Map<Character, Node> children = new HashMap<Character, Node>();
+        private final List<StepDefinition> stepDefinitions = new ArrayList<StepDefinition>();
+        private volatile Candidates candidates;
+
+        Node(Node parent) {
+            this.parent = parent;
+        }
+
+        Node child(char c) {
+            Node child = children.get(c);
+            if (child == null) {
+                child = new Node(this);
+                children.put(c, child);
+            }
+            return child;
+        }
+
+        List<StepDefinition> candidates(int version) {
+            Candidates cached = candidates;
+            if (cached == null || cached.version != version) {
+                List<StepDefinition> merged = new ArrayList<StepDefinition>();
+                for (Node node = this; node != null; node = node.parent) {
+                    merged.addAll(node.stepDefinitions);
+                }
+                Collections.sort(merged, PATTERN_ORDER);
+                cached = new Candidates(version, merged);
+                candidates = cached;
+            }
+            return cached.stepDefinitions;
+        }
+    }
+
+    private static class Candidates {
+        private final int version;
+        private final List<StepDefinition> stepDefinitions;
+
+        Candidates(int version, List<StepDefinition> stepDefinitions) {
+            this.version = version;
+            this.stepDefinitions = stepDefinitions;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cucumber.runtime;
+
+import gherkin.I18n;
+import gherkin.formatter.Argument;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers which step definitions matched a step name, and with what arguments, so that steps
+ * repeated across scenarios and Scenario Outline rows aren't matched from scratch every time.
+ * <p/>
+ * The cache is bounded and evicts the least recently used step names. It must be cleared whenever
+ * step definitions are added.
+ */
+class StepDefinitionMatchCache {
+    static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final Map<Key, List<Resolved>> resolvedByStep;
+    private long hits = 0;
+    private long misses = 0;
+
+    StepDefinitionMatchCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    StepDefinitionMatchCache(final int maxSize) {
+        this.resolvedByStep = new LinkedHashMap<Key, List<Resolved>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<Resolved>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public List<Resolved> get(String stepName, I18n i18n) {
+        List<Resolved> resolved = resolvedByStep.get(new Key(stepName, i18n));
+        if (resolved == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return resolved;
+    }
+
+    public void put(String stepName, I18n i18n, List<Resolved> resolved) {
+        resolvedByStep.put(new Key(stepName, i18n), Collections.unmodifiableList(resolved));
+    }
+
+    public void clear() {
+        resolvedByStep.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * A step definition that matched a step name, with the arguments it extracted.
+     */
+    static class Resolved {
+        final StepDefinition stepDefinition;
+        final List<Argument> arguments;
+
+        Resolved(StepDefinition stepDefinition, List<Argument> arguments) {
+            this.stepDefinition = stepDefinition;
+            this.arguments = Collections.unmodifiableList(arguments);
+        }
+    }
+
+    private static class Key {
+        private final String stepName;
+        private final String isoCode;
+
+        Key(String stepName, I18n i18n) {
+            this.stepName = stepName;
+            this.isoCode = i18n == null ? null : i18n.getIsoCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return equal(stepName, other.stepName) && equal(isoCode, other.isoCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * hash(stepName) + hash(isoCode);
+        }
+
+        private static boolean equal(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+
+        private static int hash(String s) {
+            return s == null ? 0 : s.hashCode();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cucumber.runtime;
+
+import gherkin.formatter.model.Tag;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The tags of a scenario, together with the names of the tags as a bit set. Each tag name gets a bit the first
+ * time it's seen, so the same names always give the same bits, which makes the bit set cheap to match against a
+ * {@link CompiledTagExpression} and to use as a key.
+ */
+public class TagSet extends AbstractSet<Tag> {
+    private static final ConcurrentMap<String, Integer> BITS_BY_NAME = new ConcurrentHashMap<String, Integer>();
+    private static final AtomicInteger NEXT_BIT = new AtomicInteger();
+
+    private final Set<Tag> tags;
+    private final BitSet bits;
+
+    public TagSet(Collection<Tag> tags) {
+        this.tags = Collections.unmodifiableSet(new HashSet<Tag>(tags));
+        this.bits = bitsOf(tags);
+    }
+
+    /**
+     * @param tags any tags
+     * @return the bits of the tag names
+     */
+    static BitSet bitsOf(Collection<Tag> tags) {
+        if (tags instanceof TagSet) {
+            return ((TagSet) tags).bits;
+        }
+        BitSet bits = new BitSet();
+        for (Tag tag : tags) {
+            bits.set(bitOf(tag.getName()));
+        }
+        return bits;
+    }
+
+    static int bitOf(String tagName) {
+        Integer bit = BITS_BY_NAME.get(tagName);
+        if (bit == null) {
+            Integer newBit = NEXT_BIT.getAndIncrement();
+            bit = BITS_BY_NAME.putIfAbsent(tagName, newBit);
+            if (bit == null) {
+                bit = newBit;
+            }
+        }
+        return bit;
+    }
+
+    @Override
+    public Iterator<Tag> iterator() {
+        return tags.iterator();
+    }
+
+    @Override
+    public int size() {
+        return tags.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return tags.contains(o);
+    }
+}
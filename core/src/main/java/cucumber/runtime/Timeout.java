@@ -1,13 +1,26 @@
 package cucumber.runtime;
 
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Timeout {
+    // A single daemon thread schedules the interrupts for all timed invocations, instead of one thread per invocation.
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-timeout");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private static final AtomicLong timedOutInvocations = new AtomicLong();
+
     public static <T> T timeout(Callback<T> callback, long timeoutMillis) throws Throwable {
         if (timeoutMillis == 0) {
             return callback.call();
@@ -15,11 +28,10 @@ public class Timeout {
             final Thread executionThread = Thread.currentThread();
             final AtomicBoolean done = new AtomicBoolean();
 
-            ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
-            ScheduledFuture<?> timer = executorService.schedule(new Runnable() {
+            ScheduledFuture<?> timer = TIMER.schedule(new Runnable() {
                 @Override
                 public void run() {
-                    if (!done.get()) {
+                    if (done.compareAndSet(false, true)) {
                         executionThread.interrupt();
                     }
                 }
@@ -27,13 +39,38 @@ public class Timeout {
             try {
                 return callback.call();
             } catch (InterruptedException timeout) {
+                timedOutInvocations.incrementAndGet();
                 throw new TimeoutException("Timed out after " + timeoutMillis + "ms.");
             } finally {
-                done.set(true);
-                timer.cancel(true);
-                executorService.shutdownNow();
+                if (done.compareAndSet(false, true)) {
+                    timer.cancel(false);
+                    TIMER.remove((Runnable) timer);
+                } else {
+                    // The timer fired. Don't let its interrupt leak into whatever this thread runs next.
+                    awaitQuietly(timer);
+                    Thread.interrupted();
+                }
             }
+        }
+    }
 
+    /**
+     * @return the number of invocations that have been interrupted because they timed out
+     */
+    public static long getTimedOutInvocations() {
+        return timedOutInvocations.get();
+    }
+
+    private static void awaitQuietly(ScheduledFuture<?> timer) {
+        while (true) {
+            try {
+                timer.get();
+                return;
+            } catch (InterruptedException expected) {
+                // The interrupt we're waiting for may arrive while we wait. Keep waiting until it has been delivered.
+            } catch (ExecutionException e) {
+                return;
+            }
         }
     }
 
@@ -55,6 +55,10 @@ public class UndefinedStepsTracker {
         undefinedSteps.add(givenWhenThenStep(step, i18n));
     }
 
+    public void addUndefinedSteps(UndefinedStepsTracker other) {
+        undefinedSteps.addAll(other.undefinedSteps);
+    }
+
     private boolean isGivenWhenThenKeyword(String keyword, I18n i18n) {
         for (String gwts : asList("given", "when", "then")) {
             List<String> keywords = i18n.keywords(gwts);
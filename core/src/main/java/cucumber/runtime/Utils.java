@@ -27,22 +27,46 @@ public class Utils {
     }
 
     public static Object invoke(final Object target, final Method method, long timeoutMillis, final Object... args) throws Throwable {
+        if (timeoutMillis == 0) {
+            // Most steps and hooks have no timeout. Don't pay for the Timeout machinery for those.
+            return invokeNow(target, method, args);
+        }
         return Timeout.timeout(new Timeout.Callback<Object>() {
             @Override
             public Object call() throws Throwable {
-                try {
-                    return method.invoke(target, args);
-                } catch (IllegalArgumentException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
-                } catch (InvocationTargetException e) {
-                    throw e.getTargetException();
-                } catch (IllegalAccessException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
-                }
+                return invokeNow(target, method, args);
             }
         }, timeoutMillis);
     }
 
+    private static Object invokeNow(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalArgumentException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } catch (IllegalAccessException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method), e);
+        }
+    }
+
+    /**
+     * Turns off the language access checks {@link Method#invoke} would otherwise do on every invocation.
+     * Meant to be called once, when glue is loaded.
+     *
+     * @param method the method to prepare
+     * @return the same method
+     */
+    public static Method accessible(Method method) {
+        try {
+            method.setAccessible(true);
+        } catch (SecurityException e) {
+            // Invocations will still work, they'll just be checked every time
+        }
+        return method;
+    }
+
     public static Type listItemType(Type type) {
         return typeArg(type, List.class, 0);
     }
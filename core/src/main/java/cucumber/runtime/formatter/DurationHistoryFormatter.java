@@ -0,0 +1,120 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.DurationHistory;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Records how long each scenario took in a {@link DurationHistory} file, so that later runs can start with the
+ * slowest scenarios ({@code --slowest-first}) or balance shards by duration.
+ */
+class DurationHistoryFormatter implements Formatter, Reporter {
+    private final DurationHistory history;
+    private String scenarioId;
+    private long scenarioDuration;
+
+    public DurationHistoryFormatter(File file) {
+        this.history = DurationHistory.read(file);
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        scenarioId = scenario.getId();
+        scenarioDuration = 0;
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        history.setDuration(scenarioId, scenarioDuration);
+        scenarioId = null;
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        addDuration(result);
+    }
+
+    @Override
+    public void result(Result result) {
+        addDuration(result);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        addDuration(result);
+    }
+
+    private void addDuration(Result result) {
+        if (result.getDuration() != null) {
+            scenarioDuration += result.getDuration();
+        }
+    }
+
+    @Override
+    public void done() {
+        history.write();
+    }
+
+    @Override
+    public void uri(String uri) {
+    }
+
+    @Override
+    public void feature(Feature feature) {
+    }
+
+    @Override
+    public void background(Background background) {
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+    }
+
+    @Override
+    public void examples(Examples examples) {
+    }
+
+    @Override
+    public void step(Step step) {
+    }
+
+    @Override
+    public void eof() {
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void match(Match match) {
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+}
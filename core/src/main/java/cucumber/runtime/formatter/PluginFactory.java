@@ -46,12 +46,15 @@ public class PluginFactory {
     private static final Map<String, Class> PLUGIN_CLASSES = new HashMap<String, Class>() {{
         put("null", NullFormatter.class);
         put("junit", JUnitFormatter.class);
+        put("junit-stream", StreamingJUnitFormatter.class);
         put("html", HTMLFormatter.class);
         put("pretty", CucumberPrettyFormatter.class);
         put("progress", ProgressFormatter.class);
         put("json", CucumberJSONFormatter.class);
+        put("json-stream", StreamingJSONFormatter.class);
         put("usage", UsageFormatter.class);
         put("rerun", RerunFormatter.class);
+        put("durations", DurationHistoryFormatter.class);
     }};
     private static final Pattern PLUGIN_WITH_FILE_PATTERN = Pattern.compile("([^:]+):(.*)");
     private String defaultOutFormatter = null;
@@ -0,0 +1,336 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import gherkin.deps.com.google.gson.Gson;
+import gherkin.deps.com.google.gson.GsonBuilder;
+import gherkin.deps.com.google.gson.JsonElement;
+import gherkin.deps.com.google.gson.JsonPrimitive;
+import gherkin.deps.com.google.gson.JsonSerializationContext;
+import gherkin.deps.com.google.gson.JsonSerializer;
+import gherkin.deps.com.google.gson.stream.JsonWriter;
+import gherkin.deps.net.iharder.Base64;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the same report as the {@code json} plugin, without keeping the whole report in memory.
+ * <p/>
+ * Only the feature element (background or scenario) currently running is kept in memory. It is written
+ * as soon as the next one starts. Embeddings are spilled to temporary files, and base64 encoded into the
+ * report one at a time when their feature element is written.
+ */
+class StreamingJSONFormatter implements Formatter, Reporter {
+    private final JsonWriter json;
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(SpilledEmbedding.class, new SpilledEmbeddingSerializer()).create();
+
+    private String uri;
+    private boolean inFeature = false;
+    private boolean inElements = false;
+    private boolean inScenarioOutline = false;
+    private Map<String, Object> featureElement;
+    private List<Map> beforeHooks = new ArrayList<Map>();
+
+    public StreamingJSONFormatter(Appendable out) {
+        this.json = new JsonWriter(new AppendableWriter(out));
+        json.setIndent("  ");
+        try {
+            json.beginArray();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public void uri(String uri) {
+        this.uri = uri;
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        finishFeature();
+        try {
+            json.beginObject();
+            Map<String, Object> featureMap = feature.toMap();
+            featureMap.put("uri", uri);
+            for (Map.Entry<String, Object> entry : featureMap.entrySet()) {
+                if (entry.getValue() != null) {
+                    json.name(entry.getKey());
+                    gson.toJson(entry.getValue(), entry.getValue().getClass(), json);
+                }
+            }
+            inFeature = true;
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public void background(Background background) {
+        startFeatureElement(background.toMap());
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        startFeatureElement(scenario.toMap());
+        if (beforeHooks.size() > 0) {
+            featureElement.put("before", beforeHooks);
+            beforeHooks = new ArrayList<Map>();
+        }
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        // Like the json plugin, only the example scenarios are reported
+        inScenarioOutline = true;
+    }
+
+    @Override
+    public void examples(Examples examples) {
+        // NoOp
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        inScenarioOutline = false;
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+    }
+
+    @Override
+    public void step(Step step) {
+        if (!inScenarioOutline) {
+            getSteps().add(step.toMap());
+        }
+    }
+
+    @Override
+    public void match(Match match) {
+        getCurrentStep(Phase.match).put("match", match.toMap());
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+        Map<String, Object> embedding = new HashMap<String, Object>();
+        embedding.put("mime_type", mimeType);
+        embedding.put("data", new SpilledEmbedding(data));
+        getList(getCurrentStep(Phase.embedding), "embeddings").add(embedding);
+    }
+
+    @Override
+    public void write(String text) {
+        getList(getCurrentStep(Phase.output), "output").add(text);
+    }
+
+    @Override
+    public void result(Result result) {
+        getCurrentStep(Phase.result).put("result", result.toMap());
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        beforeHooks.add(buildHookMap(match, result));
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        getList(featureElement, "after").add(buildHookMap(match, result));
+    }
+
+    @Override
+    public void eof() {
+        finishFeature();
+    }
+
+    @Override
+    public void done() {
+        finishFeature();
+        try {
+            json.endArray();
+            json.flush();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            json.close();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    private void startFeatureElement(Map<String, Object> element) {
+        finishFeatureElement();
+        featureElement = element;
+    }
+
+    private void finishFeatureElement() {
+        if (featureElement == null) {
+            return;
+        }
+        try {
+            if (!inElements) {
+                json.name("elements");
+                json.beginArray();
+                inElements = true;
+            }
+            gson.toJson(featureElement, Map.class, json);
+            json.flush();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+        featureElement = null;
+    }
+
+    private void finishFeature() {
+        finishFeatureElement();
+        if (!inFeature) {
+            return;
+        }
+        try {
+            if (inElements) {
+                json.endArray();
+                inElements = false;
+            }
+            json.endObject();
+            json.flush();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+        inFeature = false;
+    }
+
+    private Map buildHookMap(Match match, Result result) {
+        Map<String, Object> hookMap = new HashMap<String, Object>();
+        hookMap.put("match", match.toMap());
+        hookMap.put("result", result.toMap());
+        return hookMap;
+    }
+
+    private List<Map> getSteps() {
+        return getList(featureElement, "steps");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> getList(Map<String, Object> map, String key) {
+        List<T> list = (List<T>) map.get(key);
+        if (list == null) {
+            list = new ArrayList<T>();
+            map.put(key, list);
+        }
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getCurrentStep(Phase phase) {
+        // Same rules as the json plugin: the first step without a match (or result), otherwise the last step
+        String target = phase.ordinal() <= Phase.match.ordinal() ? Phase.match.name() : Phase.result.name();
+        Map<String, Object> lastWithValue = null;
+        for (Map step : getSteps()) {
+            if (step.get(target) == null) {
+                return step;
+            } else {
+                lastWithValue = step;
+            }
+        }
+        return lastWithValue;
+    }
+
+    private enum Phase {step, match, embedding, output, result}
+
+    /**
+     * Embedding data, kept in a temporary file until its feature element is written.
+     */
+    private static class SpilledEmbedding {
+        private final File file;
+
+        SpilledEmbedding(byte[] data) {
+            try {
+                file = File.createTempFile("cucumber-embedding", ".bin");
+                file.deleteOnExit();
+                OutputStream out = new FileOutputStream(file);
+                try {
+                    out.write(data);
+                } finally {
+                    out.close();
+                }
+            } catch (IOException e) {
+                throw new CucumberException("Failed to spill embedding to a temporary file", e);
+            }
+        }
+    }
+
+    private static class SpilledEmbeddingSerializer implements JsonSerializer<SpilledEmbedding> {
+        @Override
+        public JsonElement serialize(SpilledEmbedding embedding, Type type, JsonSerializationContext context) {
+            try {
+                return new JsonPrimitive(Base64.encodeFromFile(embedding.file.getAbsolutePath()));
+            } catch (IOException e) {
+                throw new CucumberException("Failed to read spilled embedding", e);
+            } finally {
+                embedding.file.delete();
+            }
+        }
+    }
+
+    private static class AppendableWriter extends Writer {
+        private final Appendable out;
+
+        AppendableWriter(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            out.append(new String(buffer, offset, length));
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            out.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out instanceof Flushable) {
+                ((Flushable) out).flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out instanceof Closeable) {
+                ((Closeable) out).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.io.URLOutputStream;
+import cucumber.runtime.io.UTF8OutputStreamWriter;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the same report as the {@code junit} plugin, without keeping the whole report in memory.
+ * <p/>
+ * Each testcase is written to a temporary file as soon as it is complete. The suite totals are kept in counters,
+ * and when the run is done they are written to the report, followed by the testcases from the temporary file.
+ */
+class StreamingJUnitFormatter implements Formatter, Reporter, StrictAware {
+    private static final String UTF_8 = "UTF-8";
+
+    private final Writer out;
+    private final File testCasesFile;
+    private final Writer testCasesOut;
+    private final XMLStreamWriter testCases;
+    private boolean testCasesClosed = false;
+
+    private boolean treatSkippedAsFailure = false;
+    private Feature feature;
+    private String previousScenarioOutlineName;
+    private int exampleNumber;
+    private TestCase testCase;
+
+    private int tests = 0;
+    private int failures = 0;
+    private int skipped = 0;
+    private long durationNanos = 0;
+
+    public StreamingJUnitFormatter(URL out) throws IOException {
+        this.out = new UTF8OutputStreamWriter(new URLOutputStream(out));
+        this.testCasesFile = File.createTempFile("cucumber-junit", ".xml");
+        this.testCasesFile.deleteOnExit();
+        this.testCasesOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(testCasesFile), UTF_8));
+        try {
+            this.testCases = XMLOutputFactory.newInstance().createXMLStreamWriter(testCasesOut);
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while processing unit report", e);
+        }
+    }
+
+    @Override
+    public void feature(Feature feature) {
+        finishTestCase();
+        this.feature = feature;
+        previousScenarioOutlineName = "";
+        exampleNumber = 1;
+    }
+
+    @Override
+    public void background(Background background) {
+        if (!isCurrentTestCaseCreatedNameless()) {
+            finishTestCase();
+            testCase = new TestCase();
+        }
+    }
+
+    @Override
+    public void scenario(Scenario scenario) {
+        if (!isCurrentTestCaseCreatedNameless()) {
+            finishTestCase();
+            testCase = new TestCase();
+        }
+        testCase.scenario = scenario;
+        testCase.className = feature.getName();
+        testCase.name = calculateElementName(scenario);
+        tests++;
+    }
+
+    private boolean isCurrentTestCaseCreatedNameless() {
+        return testCase != null && testCase.scenario == null;
+    }
+
+    private String calculateElementName(Scenario scenario) {
+        String scenarioName = scenario.getName();
+        if (scenario.getKeyword().equals("Scenario Outline") && scenarioName.equals(previousScenarioOutlineName)) {
+            return scenarioName + (scenarioName.indexOf(' ') != -1 ? " " : "_") + ++exampleNumber;
+        } else {
+            previousScenarioOutlineName = scenario.getKeyword().equals("Scenario Outline") ? scenarioName : "";
+            exampleNumber = 1;
+            return scenarioName;
+        }
+    }
+
+    @Override
+    public void step(Step step) {
+        if (testCase != null) testCase.steps.add(step);
+    }
+
+    @Override
+    public void result(Result result) {
+        testCase.results.add(result);
+    }
+
+    @Override
+    public void before(Match match, Result result) {
+        if (!isCurrentTestCaseCreatedNameless()) {
+            finishTestCase();
+            testCase = new TestCase();
+        }
+        testCase.hookResults.add(result);
+    }
+
+    @Override
+    public void after(Match match, Result result) {
+        testCase.hookResults.add(result);
+    }
+
+    @Override
+    public void scenarioOutline(ScenarioOutline scenarioOutline) {
+        finishTestCase();
+        testCase = null;
+    }
+
+    @Override
+    public void endOfScenarioLifeCycle(Scenario scenario) {
+        finishTestCase();
+        testCase = null;
+    }
+
+    private void finishTestCase() {
+        if (testCase == null || testCase.scenario == null || testCase.written) {
+            return;
+        }
+        try {
+            testCase.write();
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while processing unit report", e);
+        }
+    }
+
+    @Override
+    public void done() {
+        finishTestCase();
+        try {
+            closeTestCases();
+
+            XMLStreamWriter suite = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+            suite.writeStartDocument(UTF_8, "1.0");
+            suite.writeCharacters("\n");
+            suite.writeStartElement("testsuite");
+            // Same suite name as the junit plugin, so the reports are interchangeable
+            suite.writeAttribute("name", JUnitFormatter.class.getName());
+            suite.writeAttribute("failures", String.valueOf(failures));
+            suite.writeAttribute("skipped", String.valueOf(skipped));
+            suite.writeAttribute("time", formatSeconds(durationNanos));
+            if (tests == 0) {
+                addDummyTestCase(suite); // to avoid failed Jenkins jobs
+            } else {
+                suite.writeAttribute("tests", String.valueOf(tests));
+                suite.writeCharacters("");
+                suite.flush();
+                copyTestCases();
+            }
+            suite.writeCharacters("\n");
+            suite.writeEndElement();
+            suite.writeEndDocument();
+            suite.flush();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while transforming.", e);
+        } catch (IOException e) {
+            throw new CucumberException("Error while transforming.", e);
+        } finally {
+            testCasesFile.delete();
+        }
+    }
+
+    private void closeTestCases() throws XMLStreamException, IOException {
+        if (testCasesClosed) {
+            return;
+        }
+        testCasesClosed = true;
+        testCases.close();
+        testCasesOut.close();
+    }
+
+    private void copyTestCases() throws IOException {
+        Reader in = new InputStreamReader(new FileInputStream(testCasesFile), UTF_8);
+        try {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private void addDummyTestCase(XMLStreamWriter suite) throws XMLStreamException {
+        suite.writeCharacters("\n    ");
+        suite.writeStartElement("testcase");
+        suite.writeAttribute("classname", "dummy");
+        suite.writeAttribute("name", "dummy");
+        suite.writeCharacters("\n        ");
+        suite.writeEmptyElement("skipped");
+        suite.writeAttribute("message", "No features found");
+        suite.writeCharacters("\n    ");
+        suite.writeEndElement();
+    }
+
+    @Override
+    public void startOfScenarioLifeCycle(Scenario scenario) {
+        // NoOp
+    }
+
+    @Override
+    public void examples(Examples examples) {
+    }
+
+    @Override
+    public void match(Match match) {
+    }
+
+    @Override
+    public void embedding(String mimeType, byte[] data) {
+    }
+
+    @Override
+    public void write(String text) {
+    }
+
+    @Override
+    public void uri(String uri) {
+    }
+
+    @Override
+    public void close() {
+        try {
+            // done() isn't called when the run is aborted, so the temporary file may still be open
+            closeTestCases();
+            out.close();
+        } catch (XMLStreamException e) {
+            throw new CucumberException("Error while closing unit report", e);
+        } catch (IOException e) {
+            throw new CucumberException("Error while closing unit report", e);
+        } finally {
+            testCasesFile.delete();
+        }
+    }
+
+    @Override
+    public void eof() {
+    }
+
+    @Override
+    public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+    }
+
+    @Override
+    public void setStrict(boolean strict) {
+        treatSkippedAsFailure = strict;
+    }
+
+    private static String formatSeconds(long nanos) {
+        DecimalFormat format = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
+        format.applyPattern("0.######");
+        return format.format(((double) nanos) / 1000000000);
+    }
+
+    private class TestCase {
+        Scenario scenario;
+        String className;
+        String name;
+        boolean written = false;
+        final List<Step> steps = new ArrayList<Step>();
+        final List<Result> results = new ArrayList<Result>();
+        final List<Result> hookResults = new ArrayList<Result>();
+
+        void write() throws XMLStreamException {
+            written = true;
+            long testCaseNanos = totalDurationNanos();
+            durationNanos += testCaseNanos;
+
+            testCases.writeCharacters("\n    ");
+            testCases.writeStartElement("testcase");
+            testCases.writeAttribute("classname", className);
+            testCases.writeAttribute("name", name);
+            testCases.writeAttribute("time", formatSeconds(testCaseNanos));
+            testCases.writeCharacters("\n        ");
+
+            StringBuilder sb = new StringBuilder();
+            addStepAndResultListing(sb);
+            Result skippedResult = null, failedResult = null;
+            for (Result result : results) {
+                if ("failed".equals(result.getStatus())) failedResult = result;
+                if ("undefined".equals(result.getStatus()) || "pending".equals(result.getStatus())) skippedResult = result;
+            }
+            for (Result result : hookResults) {
+                if (failedResult == null && "failed".equals(result.getStatus())) failedResult = result;
+            }
+            if (failedResult != null) {
+                addStackTrace(sb, failedResult);
+                failures++;
+                writeElementWithMessage("failure", failedResult.getErrorMessage(), sb);
+            } else if (skippedResult != null) {
+                if (treatSkippedAsFailure) {
+                    failures++;
+                    writeElementWithMessage("failure", "The scenario has pending or undefined step(s)", sb);
+                } else {
+                    skipped++;
+                    writeElement("skipped", sb);
+                }
+            } else {
+                writeElement("system-out", sb);
+            }
+            testCases.writeCharacters("\n    ");
+            testCases.writeEndElement();
+        }
+
+        private long totalDurationNanos() {
+            long totalDurationNanos = 0;
+            for (Result r : results) {
+                totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
+            }
+            for (Result r : hookResults) {
+                totalDurationNanos += r.getDuration() == null ? 0 : r.getDuration();
+            }
+            return totalDurationNanos;
+        }
+
+        private void addStepAndResultListing(StringBuilder sb) {
+            for (int i = 0; i < steps.size(); i++) {
+                int length = sb.length();
+                String resultStatus = "not executed";
+                if (i < results.size()) {
+                    resultStatus = results.get(i).getStatus();
+                }
+                sb.append(steps.get(i).getKeyword());
+                sb.append(steps.get(i).getName());
+                do {
+                    sb.append(".");
+                } while (sb.length() - length < 76);
+                sb.append(resultStatus);
+                sb.append("\n");
+            }
+        }
+
+        private void addStackTrace(StringBuilder sb, Result failed) {
+            sb.append("\nStackTrace:\n");
+            StringWriter sw = new StringWriter();
+            failed.getError().printStackTrace(new PrintWriter(sw));
+            sb.append(sw.toString());
+        }
+
+        private void writeElementWithMessage(String elementType, String message, StringBuilder sb) throws XMLStreamException {
+            testCases.writeStartElement(elementType);
+            testCases.writeAttribute("message", message == null ? "" : message);
+            writeCData(sb.toString());
+            testCases.writeEndElement();
+        }
+
+        private void writeElement(String elementType, StringBuilder sb) throws XMLStreamException {
+            testCases.writeStartElement(elementType);
+            writeCData(sb.toString());
+            testCases.writeEndElement();
+        }
+
+        private void writeCData(String text) throws XMLStreamException {
+            // A CDATA section can't contain its own terminator, so split it across two sections
+            int start = 0;
+            for (int end = text.indexOf("]]>"); end != -1; end = text.indexOf("]]>", start)) {
+                testCases.writeCData(text.substring(start, end + 2));
+                start = end + 2;
+            }
+            testCases.writeCData(text.substring(start));
+        }
+    }
+}
@@ -15,6 +15,13 @@ public class ResourceLoaderClassFinder implements ClassFinder {
         this.classLoader = classLoader;
     }
 
+    /**
+     * @return the class loader classes are loaded from
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
     @Override
     public <T> Collection<Class<? extends T>> getDescendants(Class<T> parentType, String packageName) {
         Collection<Class<? extends T>> result = new HashSet<Class<? extends T>>();
@@ -1,9 +1,32 @@
 package cucumber.runtime.model;
 
 import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Tag;
 
 public class CucumberBackground extends StepContainer {
+    /**
+     * Features with this tag run their Background once, and the following scenarios continue from the world
+     * state it left behind, if the backends support it.
+     */
+    public static final String RUN_ONCE_TAG = "@background-once";
+
+    private final boolean runOnce;
+
     public CucumberBackground(CucumberFeature cucumberFeature, Background background) {
         super(cucumberFeature, background);
+        this.runOnce = hasRunOnceTag(cucumberFeature);
+    }
+
+    private static boolean hasRunOnceTag(CucumberFeature cucumberFeature) {
+        for (Tag tag : cucumberFeature.getGherkinFeature().getTags()) {
+            if (tag.getName().equals(RUN_ONCE_TAG)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isRunOnce() {
+        return runOnce;
     }
 }
@@ -2,32 +2,62 @@ package cucumber.runtime.model;
 
 import gherkin.formatter.Formatter;
 import gherkin.formatter.model.Examples;
-import gherkin.formatter.model.ExamplesTableRow;
 import gherkin.formatter.model.Tag;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
 
 public class CucumberExamples {
     private final CucumberScenarioOutline cucumberScenarioOutline;
     private final Examples examples;
+    private List<Tag> tags;
+    private CucumberScenarioOutline.ExamplesTemplate template;
 
     public CucumberExamples(CucumberScenarioOutline cucumberScenarioOutline, Examples examples) {
         this.cucumberScenarioOutline = cucumberScenarioOutline;
         this.examples = examples;
     }
 
+    /**
+     * @return a scenario for each example row. The scenarios are created one at a time when they are read from the
+     * list, and aren't kept by it, so that large Examples tables don't have to be expanded all at once.
+     */
     public List<CucumberScenario> createExampleScenarios() {
-        List<CucumberScenario> exampleScenarios = new ArrayList<CucumberScenario>();
+        return new ExampleScenarios();
+    }
+
+    /**
+     * @return the number of example rows
+     */
+    public int getExampleCount() {
+        return Math.max(0, examples.getRows().size() - 1);
+    }
+
+    /**
+     * @param index the index of the example row, from 0 up to but not including {@link #getExampleCount()}
+     * @return a scenario for the example row
+     */
+    public CucumberScenario createExampleScenario(int index) {
+        return template().createExampleScenario(examples.getRows().get(index + 1), tags());
+    }
+
+    private CucumberScenarioOutline.ExamplesTemplate template() {
+        // The template is immutable, so parallel runners that race to compile it just compile it twice
+        if (template == null) {
+            template = cucumberScenarioOutline.compileExamples(examples.getRows().get(0));
+        }
+        return template;
+    }
 
-        List<ExamplesTableRow> rows = examples.getRows();
-        List<Tag> tags = new ArrayList<Tag>(tagsAndInheritedTags());
-        for (int i = 1; i < rows.size(); i++) {
-            exampleScenarios.add(cucumberScenarioOutline.createExampleScenario(rows.get(0), rows.get(i), tags));
+    private List<Tag> tags() {
+        if (tags == null) {
+            tags = new ArrayList<Tag>(tagsAndInheritedTags());
         }
-        return exampleScenarios;
+        return tags;
     }
 
     private Set<Tag> tagsAndInheritedTags() {
@@ -44,4 +74,19 @@ public class CucumberExamples {
     public void format(Formatter formatter) {
         examples.replay(formatter);
     }
+
+    private class ExampleScenarios extends AbstractList<CucumberScenario> implements RandomAccess {
+        @Override
+        public CucumberScenario get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return createExampleScenario(index);
+        }
+
+        @Override
+        public int size() {
+            return getExampleCount();
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package cucumber.runtime.model;
 
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.FeatureBuilder;
+import cucumber.runtime.FeatureCache;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.Resource;
@@ -10,6 +12,7 @@ import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Background;
 import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.ExamplesTableRow;
 import gherkin.formatter.model.Feature;
 import gherkin.formatter.model.Scenario;
 import gherkin.formatter.model.ScenarioOutline;
@@ -17,9 +20,20 @@ import gherkin.formatter.model.Step;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CucumberFeature {
     private final String path;
@@ -31,7 +45,11 @@ public class CucumberFeature {
     private CucumberScenarioOutline currentScenarioOutline;
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, PrintStream out) {
-        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters);
+        return load(resourceLoader, featurePaths, filters, null, out);
+    }
+
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, FeatureCache featureCache, PrintStream out) {
+        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, filters, featureCache);
         if (cucumberFeatures.isEmpty()) {
             if (featurePaths.isEmpty()) {
                 out.println(String.format("Got no path to feature directory or feature file"));
@@ -45,37 +63,45 @@ public class CucumberFeature {
     }
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters) {
-        final List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
-        final FeatureBuilder builder = new FeatureBuilder(cucumberFeatures);
+        return load(resourceLoader, featurePaths, filters, (FeatureCache) null);
+    }
+
+    /**
+     * @param featureCache where parsed features are kept between runs, or null to parse every feature file
+     */
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, final List<Object> filters, FeatureCache featureCache) {
+        final FeatureBuilder builder = new FeatureBuilder(new ArrayList<CucumberFeature>());
+        final List<FeatureResource> featureResources = new ArrayList<FeatureResource>();
         for (String featurePath : featurePaths) {
             if (featurePath.startsWith("@")) {
-                loadFromRerunFile(builder, resourceLoader, featurePath.substring(1), filters);
+                loadFromRerunFile(builder, featureResources, resourceLoader, featurePath.substring(1), filters);
             } else {
-                loadFromFeaturePath(builder, resourceLoader, featurePath, filters, false);
+                loadFromFeaturePath(featureResources, resourceLoader, featurePath, filters, false);
             }
         }
+        final List<CucumberFeature> cucumberFeatures = parse(featureResources, featureCache);
         Collections.sort(cucumberFeatures, new CucumberFeatureUriComparator());
         return cucumberFeatures;
     }
 
-    private static void loadFromRerunFile(FeatureBuilder builder, ResourceLoader resourceLoader, String rerunPath, final List<Object> filters) {
+    private static void loadFromRerunFile(FeatureBuilder builder, List<FeatureResource> featureResources, ResourceLoader resourceLoader, String rerunPath, final List<Object> filters) {
         Iterable<Resource> resources = resourceLoader.resources(rerunPath, null);
         for (Resource resource : resources) {
             String source = builder.read(resource);
             for (String featurePath : source.split(" ")) {
-                loadFromFileSystemOrClasspath(builder, resourceLoader, featurePath, filters);
+                loadFromFileSystemOrClasspath(featureResources, resourceLoader, featurePath, filters);
             }
         }
     }
 
-    private static void loadFromFileSystemOrClasspath(FeatureBuilder builder, ResourceLoader resourceLoader, String featurePath, final List<Object> filters) {
+    private static void loadFromFileSystemOrClasspath(List<FeatureResource> featureResources, ResourceLoader resourceLoader, String featurePath, final List<Object> filters) {
         try {
-            loadFromFeaturePath(builder, resourceLoader, featurePath, filters, false);
+            loadFromFeaturePath(featureResources, resourceLoader, featurePath, filters, false);
         } catch (IllegalArgumentException originalException) {
             if (!featurePath.startsWith(MultiLoader.CLASSPATH_SCHEME) &&
                     originalException.getMessage().contains("Not a file or directory")) {
                 try {
-                    loadFromFeaturePath(builder, resourceLoader, MultiLoader.CLASSPATH_SCHEME + featurePath, filters, true);
+                    loadFromFeaturePath(featureResources, resourceLoader, MultiLoader.CLASSPATH_SCHEME + featurePath, filters, true);
                 } catch (IllegalArgumentException secondException) {
                     if (secondException.getMessage().contains("No resource found for")) {
                         throw new IllegalArgumentException("Neither found on file system or on classpath: " +
@@ -90,7 +116,7 @@ public class CucumberFeature {
         }
     }
 
-    private static void loadFromFeaturePath(FeatureBuilder builder, ResourceLoader resourceLoader, String featurePath, final List<Object> filters, boolean failOnNoResource) {
+    private static void loadFromFeaturePath(List<FeatureResource> featureResources, ResourceLoader resourceLoader, String featurePath, final List<Object> filters, boolean failOnNoResource) {
         PathWithLines pathWithLines = new PathWithLines(featurePath);
         ArrayList<Object> filtersForPath = new ArrayList<Object>(filters);
         filtersForPath.addAll(pathWithLines.lines);
@@ -99,7 +125,73 @@ public class CucumberFeature {
             throw new IllegalArgumentException("No resource found for: " + pathWithLines.path);
         }
         for (Resource resource : resources) {
-            builder.parse(resource, filtersForPath);
+            featureResources.add(new FeatureResource(resource, filtersForPath));
+        }
+    }
+
+    /**
+     * Reads and parses the resources on a pool of threads. Duplicates are skipped by checksum in the order the
+     * resources were found, before they are parsed, and the results are merged in that order, so the same
+     * features are kept (and the same duplicates skipped) as when parsing one by one.
+     */
+    private static List<CucumberFeature> parse(List<FeatureResource> featureResources, final FeatureCache featureCache) {
+        List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
+        if (featureResources.size() <= 1) {
+            FeatureBuilder builder = new FeatureBuilder(cucumberFeatures, featureCache);
+            for (FeatureResource featureResource : featureResources) {
+                builder.parse(featureResource.resource, featureResource.filters);
+            }
+            return cucumberFeatures;
+        }
+
+        int threads = Math.min(featureResources.size(), java.lang.Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ParserThreadFactory());
+        try {
+            List<Future<FeatureResource>> reads = new ArrayList<Future<FeatureResource>>();
+            for (final FeatureResource featureResource : featureResources) {
+                reads.add(executor.submit(new Callable<FeatureResource>() {
+                    @Override
+                    public FeatureResource call() {
+                        return featureResource.read();
+                    }
+                }));
+            }
+            Set<String> checksums = new HashSet<String>();
+            List<Future<List<CucumberFeature>>> parses = new ArrayList<Future<List<CucumberFeature>>>();
+            for (Future<FeatureResource> read : reads) {
+                final FeatureResource featureResource = get(read);
+                if (checksums.add(featureResource.checksum)) {
+                    parses.add(executor.submit(new Callable<List<CucumberFeature>>() {
+                        @Override
+                        public List<CucumberFeature> call() {
+                            return featureResource.parse(featureCache);
+                        }
+                    }));
+                }
+            }
+            for (Future<List<CucumberFeature>> parse : parses) {
+                cucumberFeatures.addAll(get(parse));
+            }
+            return cucumberFeatures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T get(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new CucumberException(e.getCause());
         }
     }
 
@@ -134,6 +226,36 @@ public class CucumberFeature {
         currentStepContainer.step(step);
     }
 
+    /**
+     * Creates a copy of this feature with only some of its scenarios and Scenario Outline example rows. The
+     * scenarios and example rows are compared by identity.
+     *
+     * @param scenarios   the scenarios to keep
+     * @param exampleRows the example rows to keep. Outlines and examples tables without any are left out.
+     * @return the copy, or null if nothing was kept
+     */
+    public CucumberFeature select(Collection<? extends CucumberTagStatement> scenarios, Collection<ExamplesTableRow> exampleRows) {
+        Set<CucumberTagStatement> selectedScenarios = Collections.newSetFromMap(new IdentityHashMap<CucumberTagStatement, Boolean>());
+        selectedScenarios.addAll(scenarios);
+        Set<ExamplesTableRow> selectedRows = Collections.newSetFromMap(new IdentityHashMap<ExamplesTableRow, Boolean>());
+        selectedRows.addAll(exampleRows);
+
+        CucumberFeature copy = new CucumberFeature(feature, path);
+        copy.i18n = i18n;
+        copy.cucumberBackground = cucumberBackground;
+        for (CucumberTagStatement cucumberTagStatement : cucumberTagStatements) {
+            if (cucumberTagStatement instanceof CucumberScenarioOutline) {
+                CucumberScenarioOutline outline = ((CucumberScenarioOutline) cucumberTagStatement).select(selectedRows);
+                if (outline != null) {
+                    copy.cucumberTagStatements.add(outline);
+                }
+            } else if (selectedScenarios.contains(cucumberTagStatement)) {
+                copy.cucumberTagStatements.add(cucumberTagStatement);
+            }
+        }
+        return copy.cucumberTagStatements.isEmpty() ? null : copy;
+    }
+
     public Feature getGherkinFeature() {
         return feature;
     }
@@ -172,4 +294,40 @@ public class CucumberFeature {
             return a.getPath().compareTo(b.getPath());
         }
     }
+
+    private static class FeatureResource {
+        private final Resource resource;
+        private final List<Object> filters;
+        private String gherkin;
+        private String checksum;
+
+        FeatureResource(Resource resource, List<Object> filters) {
+            this.resource = resource;
+            this.filters = filters;
+        }
+
+        FeatureResource read() {
+            FeatureBuilder builder = new FeatureBuilder(new ArrayList<CucumberFeature>());
+            gherkin = builder.read(resource);
+            checksum = builder.checksum(gherkin);
+            return this;
+        }
+
+        List<CucumberFeature> parse(FeatureCache featureCache) {
+            List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+            new FeatureBuilder(features, featureCache).parse(resource, gherkin, checksum, filters);
+            return features;
+        }
+    }
+
+    private static class ParserThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
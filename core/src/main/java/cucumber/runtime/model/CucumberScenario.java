@@ -59,7 +59,12 @@ public class CucumberScenario extends CucumberTagStatement {
     private void runBackground(Formatter formatter, Reporter reporter, Runtime runtime) {
         if (cucumberBackground != null) {
             cucumberBackground.format(formatter);
-            cucumberBackground.runSteps(reporter, runtime);
+            if (!cucumberBackground.isRunOnce()) {
+                cucumberBackground.runSteps(reporter, runtime);
+            } else if (!runtime.reuseBackground(cucumberBackground, reporter)) {
+                cucumberBackground.runSteps(reporter, runtime);
+                runtime.keepBackground(cucumberBackground);
+            }
         }
     }
 }
@@ -36,87 +36,164 @@ public class CucumberScenarioOutline extends CucumberTagStatement {
         return cucumberExamplesList;
     }
 
+    /**
+     * @param exampleRows the example rows to keep
+     * @return this outline if all of its example rows are kept, a copy with only the kept rows, or null if none are
+     */
+    CucumberScenarioOutline select(Set<ExamplesTableRow> exampleRows) {
+        CucumberScenarioOutline copy = new CucumberScenarioOutline(cucumberFeature, cucumberBackground, (ScenarioOutline) getGherkinModel());
+        copy.getSteps().addAll(getSteps());
+        boolean all = true;
+        for (CucumberExamples cucumberExamples : cucumberExamplesList) {
+            Examples examples = cucumberExamples.getExamples();
+            if (examples.getRows().isEmpty()) {
+                continue;
+            }
+            List<ExamplesTableRow> rows = new ArrayList<ExamplesTableRow>();
+            rows.add(examples.getRows().get(0));
+            for (ExamplesTableRow row : examples.getRows().subList(1, examples.getRows().size())) {
+                if (exampleRows.contains(row)) {
+                    rows.add(row);
+                } else {
+                    all = false;
+                }
+            }
+            if (rows.size() > 1) {
+                copy.examples(new Examples(examples.getComments(), examples.getTags(), examples.getKeyword(), examples.getName(),
+                        examples.getDescription(), examples.getLine(), examples.getId(), rows));
+            }
+        }
+        if (all) {
+            return this;
+        }
+        return copy.cucumberExamplesList.isEmpty() ? null : copy;
+    }
+
     @Override
     public void run(Formatter formatter, Reporter reporter, Runtime runtime) {
         format(formatter);
         for (CucumberExamples cucumberExamples : cucumberExamplesList) {
             cucumberExamples.format(formatter);
-            List<CucumberScenario> exampleScenarios = cucumberExamples.createExampleScenarios();
-            for (CucumberScenario exampleScenario : exampleScenarios) {
-                exampleScenario.run(formatter, reporter, runtime);
+            // Expand one example row at a time, so the scenarios of earlier rows can be garbage collected
+            for (int i = 0; i < cucumberExamples.getExampleCount(); i++) {
+                cucumberExamples.createExampleScenario(i).run(formatter, reporter, runtime);
             }
         }
     }
 
-    CucumberScenario createExampleScenario(ExamplesTableRow header, ExamplesTableRow example, List<Tag> examplesTags) {
-        // Make sure we replace the tokens in the name of the scenario
-        String exampleScenarioName = replaceTokens(new HashSet<Integer>(), header.getCells(), example.getCells(), getGherkinModel().getName());
+    /**
+     * @param header the header row of an Examples table
+     * @return the name and steps of this outline, compiled for the columns of the table
+     */
+    ExamplesTemplate compileExamples(ExamplesTableRow header) {
+        return new ExamplesTemplate(header.getCells());
+    }
 
-        Scenario exampleScenario = new Scenario(example.getComments(), examplesTags, getGherkinModel().getKeyword(), exampleScenarioName, "", example.getLine(), example.getId());
-        CucumberScenario cucumberScenario = new CucumberScenario(cucumberFeature, cucumberBackground, exampleScenario, example);
-        for (Step step : getSteps()) {
-            cucumberScenario.step(createExampleStep(step, header, example));
+    /**
+     * The outline compiled for one Examples table. Tokens are looked up once per table, and each example row is
+     * rendered from the compiled templates.
+     */
+    class ExamplesTemplate {
+        private final TokenTemplate name;
+        private final List<StepTemplate> steps;
+
+        private ExamplesTemplate(List<String> headerCells) {
+            this.name = TokenTemplate.compile(getGherkinModel().getName(), headerCells);
+            this.steps = new ArrayList<StepTemplate>(getSteps().size());
+            for (Step step : getSteps()) {
+                steps.add(new StepTemplate(step, headerCells));
+            }
         }
-        return cucumberScenario;
-    }
 
-    static ExampleStep createExampleStep(Step step, ExamplesTableRow header, ExamplesTableRow example) {
-        Set<Integer> matchedColumns = new HashSet<Integer>();
-        List<String> headerCells = header.getCells();
-        List<String> exampleCells = example.getCells();
+        CucumberScenario createExampleScenario(ExamplesTableRow example, List<Tag> examplesTags) {
+            List<String> exampleCells = example.getCells();
+            // Make sure we replace the tokens in the name of the scenario
+            String exampleScenarioName = name.render(exampleCells);
 
-        // Create a step with replaced tokens
-        String name = replaceTokens(matchedColumns, headerCells, exampleCells, step.getName());
-        if (name.isEmpty()) {
-            throw new CucumberException("Step generated from scenario outline '" + step.getName() + "' is empty");
+            Scenario exampleScenario = new Scenario(example.getComments(), examplesTags, getGherkinModel().getKeyword(), exampleScenarioName, "", example.getLine(), example.getId());
+            CucumberScenario cucumberScenario = new CucumberScenario(cucumberFeature, cucumberBackground, exampleScenario, example);
+            for (StepTemplate step : steps) {
+                cucumberScenario.step(step.createExampleStep(exampleCells));
+            }
+            return cucumberScenario;
         }
-
-        return new ExampleStep(
-                step.getComments(),
-                step.getKeyword(),
-                name,
-                step.getLine(),
-                rowsWithTokensReplaced(step.getRows(), headerCells, exampleCells, matchedColumns),
-                docStringWithTokensReplaced(step.getDocString(), headerCells, exampleCells, matchedColumns),
-                matchedColumns);
     }
 
-    private static List<DataTableRow> rowsWithTokensReplaced(List<DataTableRow> rows, List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
-        if (rows != null) {
-            List<DataTableRow> newRows = new ArrayList<DataTableRow>(rows.size());
-            for (Row row : rows) {
-                List<String> newCells = new ArrayList<String>(row.getCells().size());
-                for (String cell : row.getCells()) {
-                    newCells.add(replaceTokens(matchedColumns, headerCells, exampleCells, cell));
+    private static class StepTemplate {
+        private final Step step;
+        private final TokenTemplate name;
+        private final List<List<TokenTemplate>> rows;
+        private final TokenTemplate docString;
+        private final Set<Integer> matchedColumns = new HashSet<Integer>();
+
+        StepTemplate(Step step, List<String> headerCells) {
+            this.step = step;
+            this.name = TokenTemplate.compile(step.getName(), headerCells);
+            name.addMatchedColumns(matchedColumns);
+            if (step.getRows() != null) {
+                rows = new ArrayList<List<TokenTemplate>>(step.getRows().size());
+                for (Row row : step.getRows()) {
+                    List<TokenTemplate> cells = new ArrayList<TokenTemplate>(row.getCells().size());
+                    for (String cell : row.getCells()) {
+                        TokenTemplate template = TokenTemplate.compile(cell, headerCells);
+                        template.addMatchedColumns(matchedColumns);
+                        cells.add(template);
+                    }
+                    rows.add(cells);
                 }
-                newRows.add(new DataTableRow(row.getComments(), newCells, row.getLine()));
+            } else {
+                rows = null;
+            }
+            if (step.getDocString() != null) {
+                docString = TokenTemplate.compile(step.getDocString().getValue(), headerCells);
+                docString.addMatchedColumns(matchedColumns);
+            } else {
+                docString = null;
             }
-            return newRows;
-        } else {
-            return null;
         }
-    }
 
-    private static DocString docStringWithTokensReplaced(DocString docString, List<String> headerCells, List<String> exampleCells, Set<Integer> matchedColumns) {
-        if (docString != null) {
-            String docStringValue = replaceTokens(matchedColumns, headerCells, exampleCells, docString.getValue());
-            return new DocString(docString.getContentType(), docStringValue, docString.getLine());
-        } else {
-            return null;
+        ExampleStep createExampleStep(List<String> exampleCells) {
+            // Create a step with replaced tokens
+            String exampleName = name.render(exampleCells);
+            if (exampleName.isEmpty()) {
+                throw new CucumberException("Step generated from scenario outline '" + step.getName() + "' is empty");
+            }
+
+            return new ExampleStep(
+                    step.getComments(),
+                    step.getKeyword(),
+                    exampleName,
+                    step.getLine(),
+                    rowsWithTokensReplaced(exampleCells),
+                    docStringWithTokensReplaced(exampleCells),
+                    matchedColumns);
         }
-    }
 
-    private static String replaceTokens(Set<Integer> matchedColumns, List<String> headerCells, List<String> exampleCells, String text) {
-        for (int col = 0; col < headerCells.size(); col++) {
-            String headerCell = headerCells.get(col);
-            String value = exampleCells.get(col);
-            String token = "<" + headerCell + ">";
+        private List<DataTableRow> rowsWithTokensReplaced(List<String> exampleCells) {
+            if (rows != null) {
+                List<DataTableRow> newRows = new ArrayList<DataTableRow>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    Row row = step.getRows().get(i);
+                    List<TokenTemplate> cells = rows.get(i);
+                    List<String> newCells = new ArrayList<String>(cells.size());
+                    for (TokenTemplate cell : cells) {
+                        newCells.add(cell.render(exampleCells));
+                    }
+                    newRows.add(new DataTableRow(row.getComments(), newCells, row.getLine()));
+                }
+                return newRows;
+            } else {
+                return null;
+            }
+        }
 
-            if (text.contains(token)) {
-                text = text.replace(token, value);
-                matchedColumns.add(col);
+        private DocString docStringWithTokensReplaced(List<String> exampleCells) {
+            if (docString != null) {
+                DocString outlineDocString = step.getDocString();
+                return new DocString(outlineDocString.getContentType(), docString.render(exampleCells), outlineDocString.getLine());
+            } else {
+                return null;
             }
         }
-        return text;
     }
 }
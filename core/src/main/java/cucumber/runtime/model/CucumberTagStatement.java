@@ -1,6 +1,7 @@
 package cucumber.runtime.model;
 
 import cucumber.runtime.Runtime;
+import cucumber.runtime.TagSet;
 import gherkin.formatter.Formatter;
 import gherkin.formatter.Reporter;
 import gherkin.formatter.model.Row;
@@ -15,6 +16,7 @@ import static gherkin.util.FixJava.join;
 public abstract class CucumberTagStatement extends StepContainer {
     private final TagStatement gherkinModel;
     private final String visualName;
+    private TagSet tags;
 
     CucumberTagStatement(CucumberFeature cucumberFeature, TagStatement gherkinModel) {
         super(cucumberFeature, gherkinModel);
@@ -29,9 +31,12 @@ public abstract class CucumberTagStatement extends StepContainer {
     }
 
     protected Set<Tag> tagsAndInheritedTags() {
-        Set<Tag> tags = new HashSet<Tag>();
-        tags.addAll(cucumberFeature.getGherkinFeature().getTags());
-        tags.addAll(gherkinModel.getTags());
+        if (tags == null) {
+            Set<Tag> tags = new HashSet<Tag>();
+            tags.addAll(cucumberFeature.getGherkinFeature().getTags());
+            tags.addAll(gherkinModel.getTags());
+            this.tags = new TagSet(tags);
+        }
         return tags;
     }
 
@@ -0,0 +1,91 @@
+package cucumber.runtime.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A text from a Scenario Outline, split into literal segments and the {@code <header>} tokens between them, so that
+ * it can be rendered for each example row in a single pass instead of searching it for every header cell again.
+ */
+class TokenTemplate {
+    private final String text;
+    private final String[] literals;
+    private final int[] columns;
+
+    private TokenTemplate(String text, String[] literals, int[] columns) {
+        this.text = text;
+        this.literals = literals;
+        this.columns = columns;
+    }
+
+    /**
+     * @param text        the text with tokens
+     * @param headerCells the header row of the Examples table
+     * @return the compiled text. Where tokens for several columns start at the same place, the first column wins.
+     */
+    static TokenTemplate compile(String text, List<String> headerCells) {
+        String[] tokens = new String[headerCells.size()];
+        for (int col = 0; col < tokens.length; col++) {
+            tokens[col] = "<" + headerCells.get(col) + ">";
+        }
+
+        List<String> literals = new ArrayList<String>();
+        List<Integer> columns = new ArrayList<Integer>();
+        int literalStart = 0;
+        int i = text.indexOf('<');
+        while (i != -1) {
+            int col = tokenAt(text, i, tokens);
+            if (col == -1) {
+                i = text.indexOf('<', i + 1);
+            } else {
+                literals.add(text.substring(literalStart, i));
+                columns.add(col);
+                literalStart = i + tokens[col].length();
+                i = text.indexOf('<', literalStart);
+            }
+        }
+        literals.add(text.substring(literalStart));
+
+        int[] columnArray = new int[columns.size()];
+        for (int j = 0; j < columnArray.length; j++) {
+            columnArray[j] = columns.get(j);
+        }
+        return new TokenTemplate(text, literals.toArray(new String[literals.size()]), columnArray);
+    }
+
+    private static int tokenAt(String text, int offset, String[] tokens) {
+        for (int col = 0; col < tokens.length; col++) {
+            if (text.startsWith(tokens[col], offset)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param exampleCells an example row
+     * @return the text with each token replaced by the cell of the example row in its column
+     */
+    String render(List<String> exampleCells) {
+        if (columns.length == 0) {
+            return text;
+        }
+        StringBuilder rendered = new StringBuilder(text.length() + 16 * columns.length);
+        rendered.append(literals[0]);
+        for (int j = 0; j < columns.length; j++) {
+            rendered.append(exampleCells.get(columns[j]));
+            rendered.append(literals[j + 1]);
+        }
+        return rendered.toString();
+    }
+
+    /**
+     * @param matchedColumns the set to add the columns that have a token in this text to
+     */
+    void addMatchedColumns(Set<Integer> matchedColumns) {
+        for (int column : columns) {
+            matchedColumns.add(column);
+        }
+    }
+}
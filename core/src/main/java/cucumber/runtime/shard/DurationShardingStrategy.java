@@ -0,0 +1,142 @@
+package cucumber.runtime.shard;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.DurationHistory;
+import gherkin.deps.com.google.gson.JsonArray;
+import gherkin.deps.com.google.gson.JsonElement;
+import gherkin.deps.com.google.gson.JsonObject;
+import gherkin.deps.com.google.gson.JsonParseException;
+import gherkin.deps.com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Balances the shards by how long each scenario took in a previous run, read from the report of the
+ * {@code json} plugin or from a {@link DurationHistory} file. Scenarios are handed out longest first, each to the
+ * shard with the least work so far. Scenarios that aren't in the report are assumed to take the average time.
+ * Without a report, as on the first run, all scenarios are assumed to take the same time.
+ */
+class DurationShardingStrategy implements ShardingStrategy {
+    private final Map<String, Long> durationsById;
+
+    DurationShardingStrategy(File file) {
+        this(isJsonReport(file) ? readDurations(file) : DurationHistory.read(file).getDurations());
+    }
+
+    DurationShardingStrategy(Map<String, Long> durationsById) {
+        this.durationsById = durationsById;
+    }
+
+    @Override
+    public int[] assign(List<String> scenarioIds, int total) {
+        final long[] durations = DurationHistory.estimateDurations(durationsById, scenarioIds);
+        List<Integer> longestFirst = new ArrayList<Integer>();
+        for (int i = 0; i < durations.length; i++) {
+            longestFirst.add(i);
+        }
+        Collections.sort(longestFirst, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                if (durations[a] != durations[b]) {
+                    return durations[a] > durations[b] ? -1 : 1;
+                }
+                return a.compareTo(b);
+            }
+        });
+
+        int[] shards = new int[durations.length];
+        long[] loads = new long[total];
+        for (int scenario : longestFirst) {
+            int leastLoaded = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (loads[shard] < loads[leastLoaded]) {
+                    leastLoaded = shard;
+                }
+            }
+            shards[scenario] = leastLoaded;
+            loads[leastLoaded] += durations[scenario];
+        }
+        return shards;
+    }
+
+    private static boolean isJsonReport(File file) {
+        if (!file.isFile()) {
+            // DurationHistory reads a missing file as an empty history
+            return false;
+        }
+        try {
+            Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+            try {
+                int c;
+                while ((c = reader.read()) != -1 && Character.isWhitespace(c)) {
+                    // Skip leading whitespace
+                }
+                return c == '[';
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read scenario durations from " + file.getPath(), e);
+        }
+    }
+
+    static Map<String, Long> readDurations(File jsonReport) {
+        try {
+            Reader reader = new InputStreamReader(new FileInputStream(jsonReport), "UTF-8");
+            try {
+                Map<String, Long> durationsById = new HashMap<String, Long>();
+                for (JsonElement feature : new JsonParser().parse(reader).getAsJsonArray()) {
+                    JsonArray elements = feature.getAsJsonObject().getAsJsonArray("elements");
+                    if (elements == null) {
+                        continue;
+                    }
+                    for (JsonElement element : elements) {
+                        JsonObject scenario = element.getAsJsonObject();
+                        if (!"background".equals(string(scenario, "type")) && scenario.has("id")) {
+                            long duration = sumDurations(scenario, "before") + sumDurations(scenario, "steps") + sumDurations(scenario, "after");
+                            durationsById.put(string(scenario, "id"), duration);
+                        }
+                    }
+                }
+                return durationsById;
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read scenario durations from " + jsonReport.getPath(), e);
+        } catch (JsonParseException e) {
+            throw new CucumberException("Failed to read scenario durations from " + jsonReport.getPath(), e);
+        } catch (IllegalStateException e) {
+            throw new CucumberException("Not a json report: " + jsonReport.getPath(), e);
+        }
+    }
+
+    private static long sumDurations(JsonObject scenario, String key) {
+        long sum = 0;
+        JsonArray items = scenario.getAsJsonArray(key);
+        if (items != null) {
+            for (JsonElement item : items) {
+                JsonObject result = item.getAsJsonObject().getAsJsonObject("result");
+                if (result != null && result.has("duration")) {
+                    sum += result.get("duration").getAsLong();
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static String string(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value == null ? null : value.getAsString();
+    }
+}
@@ -0,0 +1,19 @@
+package cucumber.runtime.shard;
+
+import java.util.List;
+
+/**
+ * Assigns scenarios by a hash of their id, so a scenario stays on the same shard when other scenarios are added
+ * or removed.
+ */
+class HashShardingStrategy implements ShardingStrategy {
+    @Override
+    public int[] assign(List<String> scenarioIds, int total) {
+        int[] shards = new int[scenarioIds.size()];
+        for (int i = 0; i < shards.length; i++) {
+            // String.hashCode() is specified, so it's the same on every JVM
+            shards[i] = (scenarioIds.get(i).hashCode() & Integer.MAX_VALUE) % total;
+        }
+        return shards;
+    }
+}
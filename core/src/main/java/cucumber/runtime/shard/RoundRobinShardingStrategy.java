@@ -0,0 +1,17 @@
+package cucumber.runtime.shard;
+
+import java.util.List;
+
+/**
+ * Deals the scenarios out in turn, so every shard gets the same number of scenarios, give or take one.
+ */
+class RoundRobinShardingStrategy implements ShardingStrategy {
+    @Override
+    public int[] assign(List<String> scenarioIds, int total) {
+        int[] shards = new int[scenarioIds.size()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = i % total;
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,146 @@
+package cucumber.runtime.shard;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.model.CucumberExamples;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import cucumber.runtime.model.CucumberTagStatement;
+import gherkin.formatter.model.ExamplesTableRow;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One of several parts of a run that is split across machines with {@code --shard INDEX/TOTAL}.
+ * <p/>
+ * Scenarios and Scenario Outline example rows are split between the shards by a {@link ShardingStrategy}. Each
+ * shard loads all the features and keeps its own part, so the shards need no coordination as long as they run
+ * on the same features with the same strategy.
+ */
+public class Shard {
+    private final int index;
+    private final int total;
+    private final ShardingStrategy strategy;
+
+    /**
+     * @param index    the shard, from 1 to {@code total}
+     * @param total    the number of shards
+     * @param strategy decides which shard each scenario runs on
+     */
+    public Shard(int index, int total, ShardingStrategy strategy) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new CucumberException(String.format("--shard must be INDEX/TOTAL with 1 <= INDEX <= TOTAL, but was %d/%d", index, total));
+        }
+        this.index = index;
+        this.total = total;
+        this.strategy = strategy;
+    }
+
+    /**
+     * @param shard    the {@code INDEX/TOTAL} option value
+     * @param strategy the {@code --shard-strategy} option value, or null for the default
+     * @return the shard
+     */
+    public static Shard parse(String shard, String strategy) {
+        String[] indexAndTotal = shard.split("/");
+        try {
+            if (indexAndTotal.length == 2) {
+                return new Shard(Integer.parseInt(indexAndTotal[0].trim()), Integer.parseInt(indexAndTotal[1].trim()), createStrategy(strategy));
+            }
+        } catch (NumberFormatException ignore) {
+            // Reported below
+        }
+        throw new CucumberException("--shard must be INDEX/TOTAL, but was " + shard);
+    }
+
+    static ShardingStrategy createStrategy(String strategy) {
+        if (strategy == null || strategy.equals("hash")) {
+            return new HashShardingStrategy();
+        } else if (strategy.equals("round-robin")) {
+            return new RoundRobinShardingStrategy();
+        } else if (strategy.startsWith("duration:")) {
+            return new DurationShardingStrategy(new File(strategy.substring("duration:".length())));
+        }
+        try {
+            Class<?> strategyClass = Thread.currentThread().getContextClassLoader().loadClass(strategy);
+            return (ShardingStrategy) strategyClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new CucumberException("Unknown sharding strategy: " + strategy, e);
+        } catch (ClassCastException e) {
+            throw new CucumberException(strategy + " doesn't implement " + ShardingStrategy.class.getName(), e);
+        } catch (InstantiationException e) {
+            throw new CucumberException("Couldn't instantiate sharding strategy " + strategy, e);
+        } catch (IllegalAccessException e) {
+            throw new CucumberException("Couldn't instantiate sharding strategy " + strategy, e);
+        }
+    }
+
+    /**
+     * @param features all the features of the run
+     * @return the features with only the scenarios and example rows of this shard. Features with none are left out.
+     */
+    public List<CucumberFeature> select(List<CucumberFeature> features) {
+        List<String> ids = new ArrayList<String>();
+        for (CucumberFeature feature : features) {
+            for (CucumberTagStatement element : feature.getFeatureElements()) {
+                if (element instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples examples : ((CucumberScenarioOutline) element).getCucumberExamplesList()) {
+                        for (ExamplesTableRow row : exampleRows(examples)) {
+                            ids.add(row.getId());
+                        }
+                    }
+                } else {
+                    ids.add(element.getGherkinModel().getId());
+                }
+            }
+        }
+
+        int[] shards = strategy.assign(ids, total);
+        if (shards.length != ids.size()) {
+            throw new CucumberException(String.format("%s assigned %d scenarios, but there are %d", strategy.getClass().getName(), shards.length, ids.size()));
+        }
+
+        List<CucumberFeature> selected = new ArrayList<CucumberFeature>();
+        int unit = 0;
+        for (CucumberFeature feature : features) {
+            List<CucumberTagStatement> scenarios = new ArrayList<CucumberTagStatement>();
+            List<ExamplesTableRow> rows = new ArrayList<ExamplesTableRow>();
+            for (CucumberTagStatement element : feature.getFeatureElements()) {
+                if (element instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples examples : ((CucumberScenarioOutline) element).getCucumberExamplesList()) {
+                        for (ExamplesTableRow row : exampleRows(examples)) {
+                            if (isThisShard(shards[unit++])) {
+                                rows.add(row);
+                            }
+                        }
+                    }
+                } else if (isThisShard(shards[unit++])) {
+                    scenarios.add(element);
+                }
+            }
+            CucumberFeature selectedFeature = feature.select(scenarios, rows);
+            if (selectedFeature != null) {
+                selected.add(selectedFeature);
+            }
+        }
+        return selected;
+    }
+
+    private boolean isThisShard(int shard) {
+        if (shard < 0 || shard >= total) {
+            throw new CucumberException(String.format("%s assigned a scenario to shard %d, but there are only %d", strategy.getClass().getName(), shard, total));
+        }
+        return shard == index - 1;
+    }
+
+    private List<ExamplesTableRow> exampleRows(CucumberExamples examples) {
+        List<ExamplesTableRow> rows = examples.getExamples().getRows();
+        return rows.isEmpty() ? rows : rows.subList(1, rows.size());
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+}
@@ -0,0 +1,19 @@
+package cucumber.runtime.shard;
+
+import java.util.List;
+
+/**
+ * Decides which shard each scenario runs on when a run is split with {@code --shard INDEX/TOTAL}.
+ * <p/>
+ * Every shard makes the same decision independently, so a strategy must be deterministic: given the same
+ * scenarios it must always return the same assignment.
+ */
+public interface ShardingStrategy {
+    /**
+     * @param scenarioIds the gherkin ids of all the scenarios, and of the Scenario Outline example rows, in the order
+     *                    they would run without sharding
+     * @param total       the number of shards
+     * @return for each scenario, the shard it runs on, from 0 to {@code total - 1}
+     */
+    int[] assign(List<String> scenarioIds, int total);
+}
@@ -0,0 +1,96 @@
+package cucumber.runtime.table;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The rows of a table whose cells are kept in a single array, one row after the other. The rows are read-only views
+ * of the array, created when they are read, so a table only takes one array however many rows it has.
+ *
+ * @param <T> the type of the cells
+ */
+public class ArrayRows<T> extends AbstractList<List<T>> implements RandomAccess {
+    private final Object[] cells;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param cells  the cells, row by row. The array is used as it is, not copied.
+     * @param width  the number of cells in each row
+     * @param height the number of rows
+     */
+    public ArrayRows(Object[] cells, int width, int height) {
+        if (cells.length != width * height) {
+            throw new IllegalArgumentException(String.format("Expected %s cells for %s row(s) of %s, but got %s", width * height, height, width, cells.length));
+        }
+        this.cells = cells;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public List<T> get(int row) {
+        if (row < 0 || row >= height) {
+            throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + height);
+        }
+        return new Row(row * width);
+    }
+
+    @Override
+    public int size() {
+        return height;
+    }
+
+    /**
+     * @return the number of cells in each row
+     */
+    public int width() {
+        return width;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T cell(int row, int column) {
+        if (column < 0 || column >= width) {
+            throw new IndexOutOfBoundsException("Index: " + column + ", Size: " + width);
+        }
+        return (T) cells[row * width + column];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof ArrayRows) {
+            ArrayRows other = (ArrayRows) o;
+            return width == other.width && height == other.height && Arrays.equals(cells, other.cells);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private class Row extends AbstractList<T> implements RandomAccess {
+        private final int offset;
+
+        Row(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int column) {
+            if (column < 0 || column >= width) {
+                throw new IndexOutOfBoundsException("Index: " + column + ", Size: " + width);
+            }
+            return (T) cells[offset + column];
+        }
+
+        @Override
+        public int size() {
+            return width;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package cucumber.runtime.table;
+
+/**
+ * Finds the longest common subsequence of two sequences of row ids with Myers' algorithm, in its linear space
+ * variant: rather than keeping the furthest reaching paths of every edit distance, it searches from both ends for
+ * the middle of an optimal path, splits the sequences there and diffs the two halves on their own. Common
+ * prefixes and suffixes are matched up front, so tables that differ in a few rows are cheap however long they are.
+ */
+class LinearSpaceDiff {
+    private final int[] a;
+    private final int[] b;
+    private final boolean[] aMatched;
+    private final boolean[] bMatched;
+
+    /**
+     * @param a the ids of the rows of the first table. Equal rows have equal ids.
+     * @param b the ids of the rows of the second table
+     */
+    LinearSpaceDiff(int[] a, int[] b) {
+        this.a = a;
+        this.b = b;
+        this.aMatched = new boolean[a.length];
+        this.bMatched = new boolean[b.length];
+        diff(0, a.length, 0, b.length);
+    }
+
+    /**
+     * @return for each row of the first table, whether it is in the common subsequence
+     */
+    boolean[] getMatchedInA() {
+        return aMatched;
+    }
+
+    /**
+     * @return for each row of the second table, whether it is in the common subsequence
+     */
+    boolean[] getMatchedInB() {
+        return bMatched;
+    }
+
+    private void diff(int aLo, int aHi, int bLo, int bHi) {
+        while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+            aMatched[aLo++] = true;
+            bMatched[bLo++] = true;
+        }
+        while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+            aMatched[--aHi] = true;
+            bMatched[--bHi] = true;
+        }
+        if (aLo == aHi || bLo == bHi) {
+            // Only deletions or only insertions are left
+            return;
+        }
+        int[] split = middle(aLo, aHi, bLo, bHi);
+        if (split != null) {
+            diff(aLo, split[0], bLo, split[1]);
+            diff(split[0], aHi, split[1], bHi);
+        }
+    }
+
+    /**
+     * @return a point on an optimal path through the edit graph of the two ranges, halfway in edit distance, or
+     * null if the ranges have nothing in common
+     */
+    private int[] middle(int aLo, int aHi, int bLo, int bHi) {
+        int n = aHi - aLo;
+        int m = bHi - bLo;
+        int maxD = (n + m + 1) / 2;
+        int offset = maxD;
+        int length = 2 * maxD + 2;
+        // The furthest x reached on each diagonal k, from the start (forward) and from the end (backward)
+        int[] forward = new int[length];
+        int[] backward = new int[length];
+        for (int i = 0; i < length; i++) {
+            forward[i] = -1;
+            backward[i] = -1;
+        }
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        int delta = n - m;
+        // With an odd delta the paths meet while extending forward, otherwise while extending backward
+        boolean front = (delta & 1) != 0;
+        // Diagonals that run off the edit graph are skipped from then on
+        int k1Start = 0;
+        int k1End = 0;
+        int k2Start = 0;
+        int k2End = 0;
+        for (int d = 0; d < maxD; d++) {
+            for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+                int k1Offset = offset + k1;
+                int x1;
+                if (k1 == -d || (k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1])) {
+                    x1 = forward[k1Offset + 1];
+                } else {
+                    x1 = forward[k1Offset - 1] + 1;
+                }
+                int y1 = x1 - k1;
+                while (x1 < n && y1 < m && a[aLo + x1] == b[bLo + y1]) {
+                    x1++;
+                    y1++;
+                }
+                forward[k1Offset] = x1;
+                if (x1 > n) {
+                    k1End += 2;
+                } else if (y1 > m) {
+                    k1Start += 2;
+                } else if (front) {
+                    int k2Offset = offset + delta - k1;
+                    if (k2Offset >= 0 && k2Offset < length && backward[k2Offset] != -1) {
+                        if (x1 >= n - backward[k2Offset]) {
+                            return new int[]{aLo + x1, bLo + y1};
+                        }
+                    }
+                }
+            }
+
+            for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+                int k2Offset = offset + k2;
+                int x2;
+                if (k2 == -d || (k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1])) {
+                    x2 = backward[k2Offset + 1];
+                } else {
+                    x2 = backward[k2Offset - 1] + 1;
+                }
+                int y2 = x2 - k2;
+                while (x2 < n && y2 < m && a[aHi - x2 - 1] == b[bHi - y2 - 1]) {
+                    x2++;
+                    y2++;
+                }
+                backward[k2Offset] = x2;
+                if (x2 > n) {
+                    k2End += 2;
+                } else if (y2 > m) {
+                    k2Start += 2;
+                } else if (!front) {
+                    int k1Offset = offset + delta - k2;
+                    if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+                        int x1 = forward[k1Offset];
+                        int y1 = offset + x1 - k1Offset;
+                        if (x1 >= n - x2) {
+                            return new int[]{aLo + x1, bLo + y1};
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
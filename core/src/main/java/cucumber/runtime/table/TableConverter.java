@@ -8,6 +8,7 @@ import cucumber.deps.com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.ParameterInfo;
 import cucumber.runtime.xstream.CellWriter;
+import cucumber.runtime.xstream.ComplexTypeBinder;
 import cucumber.runtime.xstream.ComplexTypeWriter;
 import cucumber.runtime.xstream.ListOfComplexTypeReader;
 import cucumber.runtime.xstream.ListOfSingleValueWriter;
@@ -35,6 +36,14 @@ import static java.util.Arrays.asList;
  */
 public class TableConverter {
     private static final List<Comment> NO_COMMENTS = Collections.emptyList();
+    private static final Mapper<String, String> CAMEL_CASE = new Mapper<String, String>() {
+        private final StringConverter mapper = new CamelCaseStringConverter();
+
+        @Override
+        public String map(String attributeName) {
+            return mapper.map(attributeName);
+        }
+    };
     private final LocalizedXStreams.LocalizedXStream xStream;
     private final ParameterInfo parameterInfo;
 
@@ -98,6 +107,15 @@ public class TableConverter {
     }
 
     private <T> List<T> toListOfComplexType(DataTable dataTable, Class<T> itemType) {
+        ComplexTypeBinder binder = xStream.getComplexTypeBinder(itemType, dataTable.topCells(), CAMEL_CASE);
+        if (binder != null) {
+            try {
+                xStream.setParameterInfo(parameterInfo);
+                return Collections.unmodifiableList(binder.<T>bind(dataTable.cells(1)));
+            } finally {
+                xStream.unsetParameterInfo();
+            }
+        }
         HierarchicalStreamReader reader = new ListOfComplexTypeReader(itemType, convertTopCellsToFieldNames(dataTable), dataTable.cells(1));
         try {
             xStream.setParameterInfo(parameterInfo);
@@ -131,9 +149,10 @@ public class TableConverter {
     }
 
     private <T> List<T> toList(DataTable dataTable, SingleValueConverter itemConverter) {
-        List<T> result = new ArrayList<T>();
+        List<List<String>> raw = dataTable.raw();
+        List<T> result = new ArrayList<T>(raw.size() * dataTable.topCells().size());
 
-        for (List<String> row : dataTable.raw()) {
+        for (List<String> row : raw) {
             for (String cell : row) {
                 result.add((T) itemConverter.fromString(cell));
             }
@@ -149,15 +168,17 @@ public class TableConverter {
                 throw new CucumberException(String.format("Can't convert DataTable to List<List<%s>>", itemType));
             }
 
-            List<List<T>> result = new ArrayList<List<T>>();
-            for (List<String> row : dataTable.raw()) {
-                List<T> convertedRow = new ArrayList<T>();
+            // Convert into one array, row by row, and hand out read-only row views of it
+            List<List<String>> raw = dataTable.raw();
+            int width = dataTable.topCells().size();
+            Object[] converted = new Object[raw.size() * width];
+            int i = 0;
+            for (List<String> row : raw) {
                 for (String cell : row) {
-                    convertedRow.add((T) itemConverter.fromString(cell));
+                    converted[i++] = itemConverter.fromString(cell);
                 }
-                result.add(Collections.unmodifiableList(convertedRow));
             }
-            return Collections.unmodifiableList(result);
+            return new ArrayRows<T>(converted, width, raw.size());
         } finally {
             xStream.unsetParameterInfo();
         }
@@ -173,8 +194,9 @@ public class TableConverter {
                 throw new CucumberException(String.format("Can't convert DataTable to Map<%s,%s>", keyType, valueType));
             }
 
-            Map<K, V> result = new LinkedHashMap<K, V>();
-            for (List<String> row : dataTable.raw()) {
+            List<List<String>> raw = dataTable.raw();
+            Map<K, V> result = new LinkedHashMap<K, V>(capacity(raw.size()));
+            for (List<String> row : raw) {
                 if (row.size() != 2) {
                     throw new CucumberException("A DataTable can only be converted to a Map when there are 2 columns");
                 }
@@ -198,15 +220,15 @@ public class TableConverter {
                 throw new CucumberException(String.format("Can't convert DataTable to List<Map<%s,%s>>", keyType, valueType));
             }
 
-            List<Map<K, V>> result = new ArrayList<Map<K, V>>();
             List<String> keyStrings = dataTable.topCells();
-            List<K> keys = new ArrayList<K>();
+            List<K> keys = new ArrayList<K>(keyStrings.size());
             for (String keyString : keyStrings) {
                 keys.add((K) keyConverter.fromString(keyString));
             }
             List<List<String>> valueRows = dataTable.cells(1);
+            List<Map<K, V>> result = new ArrayList<Map<K, V>>(valueRows.size());
             for (List<String> valueRow : valueRows) {
-                Map<K, V> map = new LinkedHashMap<K, V>();
+                Map<K, V> map = new LinkedHashMap<K, V>(capacity(keys.size()));
                 int i = 0;
                 for (String cell : valueRow) {
                     map.put(keys.get(i), (V) valueConverter.fromString(cell));
@@ -272,18 +294,19 @@ public class TableConverter {
         return new DataTable(gherkinRows, this);
     }
 
+    /**
+     * @return the initial capacity of a hash map that holds {@code size} entries without resizing
+     */
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f) + 1;
+    }
+
     private DataTableRow gherkinRow(List<String> cells) {
         return new DataTableRow(NO_COMMENTS, cells, 0);
     }
 
     private List<String> convertTopCellsToFieldNames(DataTable dataTable) {
-        final StringConverter mapper = new CamelCaseStringConverter();
-        return map(dataTable.topCells(), new Mapper<String, String>() {
-            @Override
-            public String map(String attributeName) {
-                return mapper.map(attributeName);
-            }
-        });
+        return map(dataTable.topCells(), CAMEL_CASE);
     }
 
     private boolean isListOfSingleValue(Object object) {
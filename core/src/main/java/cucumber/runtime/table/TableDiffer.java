@@ -1,17 +1,16 @@
 package cucumber.runtime.table;
 
 import cucumber.api.DataTable;
-import cucumber.deps.difflib.Delta;
-import cucumber.deps.difflib.DiffUtils;
-import cucumber.deps.difflib.Patch;
 import gherkin.formatter.model.DataTableRow;
 import gherkin.formatter.model.Row;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class TableDiffer {
 
@@ -31,30 +30,68 @@ public class TableDiffer {
     }
 
     public void calculateDiffs() throws TableDiffException {
-        Patch patch = DiffUtils.diff(from.diffableRows(), to.diffableRows());
-        List<Delta> deltas = patch.getDeltas();
-        if (!deltas.isEmpty()) {
-            Map<Integer, Delta> deltasByLine = createDeltasByLine(deltas);
-            throw new TableDiffException(from, to, createTableDiff(deltasByLine));
+        // Diff ids rather than rows, so that rows are hashed and compared once
+        List<List<String>> fromRows = from.raw();
+        List<List<String>> toRows = to.raw();
+        Map<List<String>, Integer> idsByRow = new HashMap<List<String>, Integer>();
+        LinearSpaceDiff diff = new LinearSpaceDiff(rowIds(fromRows, idsByRow), rowIds(toRows, idsByRow));
+        boolean[] fromMatched = diff.getMatchedInA();
+        boolean[] toMatched = diff.getMatchedInB();
+
+        List<DataTableRow> diffTableRows = new ArrayList<DataTableRow>();
+        boolean isDifferent = false;
+        int i = 0;
+        int j = 0;
+        while (i < fromMatched.length || j < toMatched.length) {
+            if (i < fromMatched.length && j < toMatched.length && fromMatched[i] && toMatched[j]) {
+                diffTableRows.add(from.getGherkinRows().get(i++));
+                j++;
+                continue;
+            }
+            // Rows that changed are shown as missing first, and then as new
+            for (; i < fromMatched.length && !fromMatched[i]; i++) {
+                DataTableRow row = from.getGherkinRows().get(i);
+                diffTableRows.add(new DataTableRow(row.getComments(), row.getCells(), row.getLine(), Row.DiffType.DELETE));
+            }
+            for (; j < toMatched.length && !toMatched[j]; j++) {
+                DataTableRow row = to.getGherkinRows().get(j);
+                diffTableRows.add(new DataTableRow(row.getComments(), row.getCells(), row.getLine(), Row.DiffType.INSERT));
+            }
+            isDifferent = true;
+        }
+        if (isDifferent) {
+            throw new TableDiffException(from, to, new DataTable(diffTableRows, from.getTableConverter()));
         }
     }
 
+    private static int[] rowIds(List<List<String>> rows, Map<List<String>, Integer> idsByRow) {
+        int[] ids = new int[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            List<String> row = rows.get(i);
+            Integer id = idsByRow.get(row);
+            if (id == null) {
+                id = idsByRow.size();
+                idsByRow.put(row, id);
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
     public void calculateUnorderedDiffs() throws TableDiffException {
         boolean isDifferent = false;
         List<DataTableRow> diffTableRows = new ArrayList<DataTableRow>();
-        List<List<String>> missingRow    = new ArrayList<List<String>>();
-
-        ArrayList<List<String>> extraRows = new ArrayList<List<String>>();
 
-        // 1. add all "to" row in extra table
-        // 2. iterate over "from", when a common row occurs, remove it from extraRows
-        // finally, only extra rows are kept and in same order that in "to".
-        extraRows.addAll(to.raw());
+        // 1. hash the rows of "to"
+        // 2. iterate over "from", when a common row occurs, count one more occurrence of it as matched
+        // finally, the occurrences in "to" beyond the matched ones are extra rows, and are kept in same order that in "to".
+        List<List<String>> toRows = to.raw();
+        Set<List<String>> toRowSet = new HashSet<List<String>>(toRows);
+        Map<List<String>, int[]> matchedCounts = new HashMap<List<String>, int[]>();
 
         int i = 1;
         for (DataTableRow r : from.getGherkinRows()) {
-            if (!to.raw().contains(r.getCells())) {
-                missingRow.add(r.getCells());
+            if (!toRowSet.contains(r.getCells())) {
                 diffTableRows.add(
                         new DataTableRow(r.getComments(),
                                 r.getCells(),
@@ -66,11 +103,21 @@ public class TableDiffer {
                         new DataTableRow(r.getComments(),
                                 r.getCells(),
                                 i++));
-                extraRows.remove(r.getCells());
+                int[] matched = matchedCounts.get(r.getCells());
+                if (matched == null) {
+                    matchedCounts.put(r.getCells(), new int[]{1});
+                } else {
+                    matched[0]++;
+                }
             }
         }
 
-        for (List<String> e : extraRows) {
+        for (List<String> e : toRows) {
+            int[] matched = matchedCounts.get(e);
+            if (matched != null && matched[0] > 0) {
+                matched[0]--;
+                continue;
+            }
             diffTableRows.add(new DataTableRow(Collections.EMPTY_LIST,
                     e,
                     i++,
@@ -82,56 +129,4 @@ public class TableDiffer {
             throw new TableDiffException(from, to, new DataTable(diffTableRows, from.getTableConverter()));
         }
     }
-
-    private Map<Integer, Delta> createDeltasByLine(List<Delta> deltas) {
-        Map<Integer, Delta> deltasByLine = new HashMap<Integer, Delta>();
-        for (Delta delta : deltas) {
-            deltasByLine.put(delta.getOriginal().getPosition(), delta);
-        }
-        return deltasByLine;
-    }
-
-    private DataTable createTableDiff(Map<Integer, Delta> deltasByLine) {
-        List<DataTableRow> diffTableRows = new ArrayList<DataTableRow>();
-        List<List<String>> rows = from.raw();
-        for (int i = 0; i < rows.size(); i++) {
-            Delta delta = deltasByLine.get(i);
-            if (delta == null) {
-                diffTableRows.add(from.getGherkinRows().get(i));
-            } else {
-                addRowsToTableDiff(diffTableRows, delta);
-                // skipping lines involved in a delta
-                if (delta.getType() == Delta.TYPE.CHANGE || delta.getType() == Delta.TYPE.DELETE) {
-                    i += delta.getOriginal().getLines().size() - 1;
-                } else {
-                    diffTableRows.add(from.getGherkinRows().get(i));
-                }
-            }
-        }
-        // Can have new lines at end
-        Delta remainingDelta = deltasByLine.get(rows.size());
-        if (remainingDelta != null) {
-            addRowsToTableDiff(diffTableRows, remainingDelta);
-        }
-        return new DataTable(diffTableRows, from.getTableConverter());
-    }
-
-    private void addRowsToTableDiff(List<DataTableRow> diffTableRows, Delta delta) {
-        markChangedAndDeletedRowsInOriginalAsMissing(diffTableRows, delta);
-        markChangedAndInsertedRowsInRevisedAsNew(diffTableRows, delta);
-    }
-
-    private void markChangedAndDeletedRowsInOriginalAsMissing(List<DataTableRow> diffTableRows, Delta delta) {
-        List<DiffableRow> deletedLines = (List<DiffableRow>) delta.getOriginal().getLines();
-        for (DiffableRow row : deletedLines) {
-            diffTableRows.add(new DataTableRow(row.row.getComments(), row.row.getCells(), row.row.getLine(), Row.DiffType.DELETE));
-        }
-    }
-
-    private void markChangedAndInsertedRowsInRevisedAsNew(List<DataTableRow> diffTableRows, Delta delta) {
-        List<DiffableRow> insertedLines = (List<DiffableRow>) delta.getRevised().getLines();
-        for (DiffableRow row : insertedLines) {
-            diffTableRows.add(new DataTableRow(row.row.getComments(), row.row.getCells(), row.row.getLine(), Row.DiffType.INSERT));
-        }
-    }
 }
@@ -0,0 +1,168 @@
+package cucumber.runtime.xstream;
+
+import cucumber.deps.com.thoughtworks.xstream.annotations.XStreamConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.Converter;
+import cucumber.deps.com.thoughtworks.xstream.converters.ConverterLookup;
+import cucumber.deps.com.thoughtworks.xstream.converters.SingleValueConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import cucumber.deps.com.thoughtworks.xstream.mapper.Mapper;
+import cucumber.runtime.CucumberException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates a List of objects from table rows by setting their fields directly, the way XStream's
+ * {@link ReflectionConverter} would unmarshal them from a {@link ListOfComplexTypeReader}. The fields and the
+ * converters of their cells are looked up once, when the binder is compiled for a type and a header row, rather
+ * than for every cell.
+ * <p/>
+ * Only types that XStream would convert with plain reflection, and fields that it would convert with a
+ * {@link SingleValueConverter}, can be bound. Everything else is left to XStream.
+ */
+public class ComplexTypeBinder {
+    /**
+     * Stands for types and headers that can't be bound, in caches that can't hold null.
+     */
+    static final ComplexTypeBinder NONE = new ComplexTypeBinder(null, null, null, null);
+    private static final String XSTREAM_ANNOTATIONS = XStreamConverter.class.getPackage().getName() + ".";
+
+    private final Class itemType;
+    private final ReflectionProvider reflectionProvider;
+    private final Field[] fields;
+    private final SingleValueConverter[] converters;
+
+    private ComplexTypeBinder(Class itemType, ReflectionProvider reflectionProvider, Field[] fields, SingleValueConverter[] converters) {
+        this.itemType = itemType;
+        this.reflectionProvider = reflectionProvider;
+        this.fields = fields;
+        this.converters = converters;
+    }
+
+    /**
+     * @param xStream    the XStream to take converters from
+     * @param itemType   the type of the list items
+     * @param fieldNames the field to set from each column
+     * @return a binder, or null if XStream has to convert the table
+     */
+    static ComplexTypeBinder compile(LocalizedXStreams.LocalizedXStream xStream, Class itemType, List<String> fieldNames) {
+        // XStream registers the converters of annotated types as it meets them while unmarshalling, which changes
+        // how it converts other types, so those are left to XStream.
+        if (hasXStreamAnnotations(itemType) || hasReadResolve(itemType)) {
+            return null;
+        }
+        ConverterLookup converterLookup = xStream.getConverterLookup();
+        Mapper mapper = xStream.getMapper();
+        if (converterLookup.lookupConverterForType(itemType).getClass() != ReflectionConverter.class) {
+            return null;
+        }
+
+        Field[] fields = new Field[fieldNames.size()];
+        SingleValueConverter[] converters = new SingleValueConverter[fieldNames.size()];
+        Set<Field> seen = new HashSet<Field>();
+        for (int i = 0; i < fields.length; i++) {
+            Field field = findField(itemType, mapper.realMember(itemType, fieldNames.get(i)));
+            if (field == null || !seen.add(field) || !mapper.shouldSerializeMember(field.getDeclaringClass(), field.getName())
+                    || mapper.getLocalConverter(field.getDeclaringClass(), field.getName()) != null) {
+                // Unknown, repeated and specially mapped fields are reported or handled by XStream
+                return null;
+            }
+            Class fieldType = mapper.defaultImplementationOf(field.getType());
+            converters[i] = isXStreamAnnotation(fieldType.getAnnotations()) ? null : singleValueConverter(converterLookup, fieldType);
+            if (converters[i] == null) {
+                return null;
+            }
+            field.setAccessible(true);
+            fields[i] = field;
+        }
+        return new ComplexTypeBinder(itemType, xStream.getReflectionProvider(), fields, converters);
+    }
+
+    private static Field findField(Class type, String name) {
+        for (Class c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    int modifiers = field.getModifiers();
+                    boolean bindable = !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !Modifier.isFinal(modifiers);
+                    return bindable ? field : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static SingleValueConverter singleValueConverter(ConverterLookup converterLookup, Class type) {
+        Converter converter = converterLookup.lookupConverterForType(type);
+        if (converter instanceof DynamicClassBasedSingleValueConverter) {
+            return ((DynamicClassBasedSingleValueConverter) converter).converterForClass(type);
+        }
+        return converter instanceof SingleValueConverter ? (SingleValueConverter) converter : null;
+    }
+
+    private static boolean hasXStreamAnnotations(Class type) {
+        for (Class c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (isXStreamAnnotation(c.getDeclaredAnnotations())) {
+                return true;
+            }
+            for (Field field : c.getDeclaredFields()) {
+                if (isXStreamAnnotation(field.getDeclaredAnnotations())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isXStreamAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().getName().startsWith(XSTREAM_ANNOTATIONS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasReadResolve(Class type) {
+        for (Class c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("readResolve");
+                return true;
+            } catch (NoSuchMethodException ignore) {
+                // look in the superclass
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param rows the rows below the header
+     * @return an object for each row
+     */
+    public <T> List<T> bind(List<List<String>> rows) {
+        List<T> result = new ArrayList<T>(rows.size());
+        for (List<String> row : rows) {
+            Object item = reflectionProvider.newInstance(itemType);
+            for (int i = 0; i < fields.length; i++) {
+                Object value = converters[i].fromString(row.get(i));
+                if (value == null && fields[i].getType().isPrimitive()) {
+                    throw new CucumberException(String.format("Can't assign null value to one of the primitive fields in %s. Please use boxed types.", itemType.getName()));
+                }
+                try {
+                    fields[i].set(item, value);
+                } catch (IllegalAccessException e) {
+                    throw new CucumberException(e);
+                } catch (IllegalArgumentException e) {
+                    throw new CucumberException(e);
+                }
+            }
+            result.add((T) item);
+        }
+        return result;
+    }
+}
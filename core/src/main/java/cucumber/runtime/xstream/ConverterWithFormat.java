@@ -18,10 +18,19 @@ abstract class ConverterWithFormat<T> extends Transformer<T> {
     }
 
     public T transform(String string) {
+        return transform(string, getFormats());
+    }
+
+    /**
+     * @param string  the value to convert
+     * @param formats the formats to try, in order
+     * @return the value parsed by the first format that accepts it
+     */
+    T transform(String string, List<? extends Format> formats) {
         if (string == null || string.length() == 0) {
             return null;
         }
-        for (Format format : getFormats()) {
+        for (Format format : formats) {
             try {
                 return (T) transform(format, string);
             } catch (Exception ignore) {
@@ -6,11 +6,19 @@ import java.util.List;
 import java.util.Locale;
 
 abstract class ConverterWithNumberFormat<T extends Number> extends ConverterWithFormat<T> {
-    private final List<NumberFormat> formats = new ArrayList<NumberFormat>();
+    // NumberFormat isn't thread safe, and the converters are shared by the threads of a parallel run
+    private final ThreadLocal<List<NumberFormat>> formats;
 
-    ConverterWithNumberFormat(Locale locale, Class[] convertibleTypes) {
+    ConverterWithNumberFormat(final Locale locale, Class[] convertibleTypes) {
         super(convertibleTypes);
-        formats.add(NumberFormat.getNumberInstance(locale));
+        this.formats = new ThreadLocal<List<NumberFormat>>() {
+            @Override
+            protected List<NumberFormat> initialValue() {
+                List<NumberFormat> formats = new ArrayList<NumberFormat>();
+                formats.add(NumberFormat.getNumberInstance(locale));
+                return formats;
+            }
+        };
     }
 
     @Override
@@ -21,7 +29,7 @@ abstract class ConverterWithNumberFormat<T extends Number> extends ConverterWith
 
     @Override
     public List<NumberFormat> getFormats() {
-        return formats;
+        return formats.get();
     }
 
     protected abstract T downcast(Number argument);
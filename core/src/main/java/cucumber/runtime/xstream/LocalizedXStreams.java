@@ -7,16 +7,22 @@ import cucumber.deps.com.thoughtworks.xstream.converters.ConverterRegistry;
 import cucumber.deps.com.thoughtworks.xstream.converters.SingleValueConverter;
 import cucumber.deps.com.thoughtworks.xstream.core.DefaultConverterLookup;
 import cucumber.runtime.ParameterInfo;
+import gherkin.util.Mapper;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One {@link LocalizedXStream} per locale. They are safe to use from several threads at once: the converters keep
+ * their formats per thread, and a format from a {@link ParameterInfo} is passed with each conversion rather than
+ * set on the shared converters.
+ */
 public class LocalizedXStreams {
-    private final Map<Locale, LocalizedXStream> xStreamsByLocale = new HashMap<Locale, LocalizedXStream>();
+    private final ConcurrentMap<Locale, LocalizedXStream> xStreamsByLocale = new ConcurrentHashMap<Locale, LocalizedXStream>();
     private final ClassLoader classLoader;
 
     public LocalizedXStreams(ClassLoader classLoader) {
@@ -27,7 +33,10 @@ public class LocalizedXStreams {
         LocalizedXStream xStream = xStreamsByLocale.get(locale);
         if (xStream == null) {
             xStream = newXStream(locale);
-            xStreamsByLocale.put(locale, xStream);
+            LocalizedXStream existing = xStreamsByLocale.putIfAbsent(locale, xStream);
+            if (existing != null) {
+                xStream = existing;
+            }
         }
         return xStream;
     }
@@ -39,6 +48,8 @@ public class LocalizedXStreams {
 
     public static class LocalizedXStream extends XStream {
         private final Locale locale;
+        private final ConcurrentMap<BinderKey, ComplexTypeBinder> complexTypeBinders = new ConcurrentHashMap<BinderKey, ComplexTypeBinder>();
+        private final ConcurrentMap<ParameterInfo, SingleValueConverter> parameterConverters = new ConcurrentHashMap<ParameterInfo, SingleValueConverter>();
         private final ThreadLocal<List<TimeConverter>> timeConverters = new ThreadLocal<List<TimeConverter>>() {
             @Override
             protected List<TimeConverter> initialValue() {
@@ -72,13 +83,52 @@ public class LocalizedXStreams {
             lookup.registerConverter(new SingleValueConverterWrapperExt(converter), XStream.PRIORITY_VERY_HIGH);
         }
 
+        /**
+         * Converts a value with the format of a parameter, without changing the converter for other threads.
+         *
+         * @param converter the converter for the parameter type
+         * @param value     the value to convert
+         * @param format    the format of the parameter, or null
+         * @return the converted value
+         */
+        public Object fromString(SingleValueConverter converter, String value, String format) {
+            if (format == null) {
+                return converter.fromString(value);
+            }
+            if (converter instanceof SingleValueConverterWrapperExt) {
+                SingleValueConverter wrapped = ((SingleValueConverterWrapperExt) converter).getConverter();
+                if (wrapped instanceof TimeConverter) {
+                    return ((TimeConverter) wrapped).transform(value, format);
+                }
+            }
+            // Converters that delegate to a time converter, such as those of lists, see the format on this thread
+            try {
+                setTimeFormat(format);
+                return converter.fromString(value);
+            } finally {
+                unsetParameterInfo();
+            }
+        }
+
+        /**
+         * Makes the time converters use the format of the parameter on the current thread, for conversions that go
+         * through XStream, such as those of tables. Must be followed by {@link #unsetParameterInfo()} on the same
+         * thread.
+         *
+         * @param parameterInfo the parameter
+         */
         public void setParameterInfo(ParameterInfo parameterInfo) {
             if (parameterInfo != null) {
-                List<Class> timeClasses = TimeConverter.getTimeClasses();
-                for (Class timeClass : timeClasses) {
+                setTimeFormat(parameterInfo.getFormat());
+            }
+        }
+
+        private void setTimeFormat(String format) {
+            if (format != null) {
+                for (Class timeClass : TimeConverter.getTimeClasses()) {
                     SingleValueConverterWrapperExt converterWrapper = (SingleValueConverterWrapperExt) getConverterLookup().lookupConverterForType(timeClass);
                     TimeConverter timeConverter = (TimeConverter) converterWrapper.getConverter();
-                    timeConverter.setParameterInfoAndLocale(parameterInfo, locale);
+                    timeConverter.setFormat(format);
                     timeConverters.get().add(timeConverter);
                 }
             }
@@ -86,7 +136,7 @@ public class LocalizedXStreams {
 
         public void unsetParameterInfo() {
             for (TimeConverter timeConverter : timeConverters.get()) {
-                timeConverter.removeOnlyFormat();
+                timeConverter.removeFormat();
             }
             timeConverters.get().clear();
         }
@@ -108,6 +158,45 @@ public class LocalizedXStreams {
             }
         }
 
+        /**
+         * @param itemType          the type of the list items
+         * @param header            the top row of the table
+         * @param headerToFieldName how to turn a header cell into a field name
+         * @return a binder for tables of the type with the header, compiled the first time it is asked for, or null if
+         * XStream has to convert such tables
+         */
+        public ComplexTypeBinder getComplexTypeBinder(Class itemType, List<String> header, Mapper<String, String> headerToFieldName) {
+            BinderKey key = new BinderKey(itemType, header);
+            ComplexTypeBinder binder = complexTypeBinders.get(key);
+            if (binder == null) {
+                List<String> fieldNames = new ArrayList<String>(header.size());
+                for (String cell : header) {
+                    fieldNames.add(headerToFieldName.map(cell));
+                }
+                binder = ComplexTypeBinder.compile(this, itemType, fieldNames);
+                complexTypeBinders.putIfAbsent(key, binder == null ? ComplexTypeBinder.NONE : binder);
+            }
+            return binder == ComplexTypeBinder.NONE ? null : binder;
+        }
+
+        /**
+         * @param parameterInfo the parameter
+         * @return the converter previously resolved for the parameter with this XStream, or null
+         */
+        public SingleValueConverter getParameterConverter(ParameterInfo parameterInfo) {
+            return parameterConverters.get(parameterInfo);
+        }
+
+        /**
+         * Keeps the converter resolved for a parameter, for as long as this XStream is used.
+         *
+         * @param parameterInfo the parameter
+         * @param converter     the converter for the parameter
+         */
+        public void putParameterConverter(ParameterInfo parameterInfo, SingleValueConverter converter) {
+            parameterConverters.putIfAbsent(parameterInfo, converter);
+        }
+
         public SingleValueConverter createListConverter(String delimiter, SingleValueConverter elementConverter) {
             return new ListConverter(delimiter, elementConverter);
         }
@@ -115,5 +204,29 @@ public class LocalizedXStreams {
         public Locale getLocale() {
             return locale;
         }
+
+        private static class BinderKey {
+            private final Class itemType;
+            private final List<String> header;
+
+            BinderKey(Class itemType, List<String> header) {
+                this.itemType = itemType;
+                this.header = new ArrayList<String>(header);
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (!(o instanceof BinderKey)) {
+                    return false;
+                }
+                BinderKey other = (BinderKey) o;
+                return itemType == other.itemType && header.equals(other.header);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * itemType.hashCode() + header.hashCode();
+            }
+        }
     }
 }
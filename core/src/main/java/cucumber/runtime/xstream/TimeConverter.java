@@ -13,38 +13,54 @@ import java.util.Locale;
 
 import static java.util.Arrays.asList;
 
+/**
+ * Converts dates and calendars. The converters are shared by the threads of a parallel run, so the date formats,
+ * which aren't thread safe, are kept per thread, and so is the format set with {@link #setFormat(String)}.
+ */
 abstract class TimeConverter<T> extends ConverterWithFormat<T> {
-    private final List<DateFormat> formats = new ArrayList<DateFormat>();
-    private String format;
+    private final Locale locale;
+    private final ThreadLocal<List<DateFormat>> formats = new ThreadLocal<List<DateFormat>>() {
+        @Override
+        protected List<DateFormat> initialValue() {
+            // TODO - these are expensive to create. Cache by format+string, or use the XStream DF cache util thingy
+            List<DateFormat> formats = new ArrayList<DateFormat>();
+            formats.add(lenient(DateFormat.getDateInstance(DateFormat.SHORT, locale)));
+            formats.add(lenient(DateFormat.getDateInstance(DateFormat.MEDIUM, locale)));
+            formats.add(lenient(DateFormat.getDateInstance(DateFormat.LONG, locale)));
+            formats.add(lenient(DateFormat.getDateInstance(DateFormat.FULL, locale)));
+            return formats;
+        }
+    };
+    private final ThreadLocal<String> format = new ThreadLocal<String>();
 
     TimeConverter(Locale locale, Class[] convertibleTypes) {
         super(convertibleTypes);
-
-        // TODO - these are expensive to create. Cache by format+string, or use the XStream DF cache util thingy
-        addFormat(DateFormat.SHORT, locale);
-        addFormat(DateFormat.MEDIUM, locale);
-        addFormat(DateFormat.LONG, locale);
-        addFormat(DateFormat.FULL, locale);
+        this.locale = locale;
+        // Make the locale available before any ParameterInfo is set
+        super.setParameterInfoAndLocale(null, locale);
     }
 
-    void addFormat(int style, Locale locale) {
-        add(DateFormat.getDateInstance(style, locale));
-    }
-
-    void add(DateFormat dateFormat) {
+    private static DateFormat lenient(DateFormat dateFormat) {
         dateFormat.setLenient(false);
-        formats.add(dateFormat);
+        return dateFormat;
     }
 
     public List<? extends Format> getFormats() {
-        return format == null ? formats : asList(getOnlyFormat());
+        String onlyFormat = format.get();
+        return onlyFormat == null ? formats.get() : asList(getOnlyFormat(onlyFormat));
     }
 
-    private Format getOnlyFormat() {
-        DateFormat dateFormat = new SimpleDateFormat(format, getLocale());
-        dateFormat.setLenient(false);
+    private Format getOnlyFormat(String format) {
+        return lenient(new SimpleDateFormat(format, locale));
+    }
 
-        return dateFormat;
+    /**
+     * @param string the date to convert
+     * @param format the date format to use, or null to try the default formats for the locale
+     * @return the converted date
+     */
+    public T transform(String string, String format) {
+        return format == null ? transform(string) : transform(string, asList(getOnlyFormat(format)));
     }
 
     @Override
@@ -55,17 +71,23 @@ abstract class TimeConverter<T> extends ConverterWithFormat<T> {
         return super.toString(obj);
     }
 
+    /**
+     * The locale of the converter is fixed when it is created, and formats are set per thread with
+     * {@link #setFormat(String)}, so this doesn't change the converter.
+     */
     @Override
     public void setParameterInfoAndLocale(ParameterInfo parameterInfo, Locale locale) {
-        super.setParameterInfoAndLocale(parameterInfo, locale);
+    }
 
-        if (parameterInfo.getFormat() != null) {
-            format = parameterInfo.getFormat();
-        }
+    /**
+     * @param format the date format to use for conversions on the current thread, until {@link #removeFormat()}
+     */
+    public void setFormat(String format) {
+        this.format.set(format);
     }
 
-    public void removeOnlyFormat() {
-        format = null;
+    public void removeFormat() {
+        format.remove();
     }
 
     public static List<Class> getTimeClasses() {
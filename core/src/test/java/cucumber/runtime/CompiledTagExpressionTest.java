@@ -0,0 +1,76 @@
+package cucumber.runtime;
+
+import gherkin.TagExpression;
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledTagExpressionTest {
+    private static final List<List<String>> EXPRESSIONS = asList(
+            Collections.<String>emptyList(),
+            asList("@a"),
+            asList("~@a"),
+            asList("@a,@b"),
+            asList("@a", "@b"),
+            asList("@a, ~@b"),
+            asList("~@a", "~@b"),
+            asList("@a,~@b", "@c"),
+            asList("@a:3", "~@c:1")
+    );
+
+    private static final List<List<Tag>> TAG_SETS = asList(
+            Collections.<Tag>emptyList(),
+            tags("@a"),
+            tags("@b"),
+            tags("@c"),
+            tags("@a", "@b"),
+            tags("@a", "@c"),
+            tags("@b", "@c"),
+            tags("@a", "@b", "@c"),
+            tags("@other")
+    );
+
+    @Test
+    public void evaluates_like_gherkin_tag_expressions() {
+        for (List<String> expression : EXPRESSIONS) {
+            TagExpression tagExpression = new TagExpression(expression);
+            CompiledTagExpression compiledTagExpression = new CompiledTagExpression(expression);
+            for (List<Tag> tags : TAG_SETS) {
+                String message = expression + " on " + names(tags);
+                assertEquals(message, tagExpression.evaluate(tags), compiledTagExpression.evaluate(tags));
+                assertEquals(message, tagExpression.evaluate(tags), compiledTagExpression.evaluate(new TagSet(tags)));
+            }
+        }
+    }
+
+    @Test
+    public void empty_expression_matches_everything() {
+        CompiledTagExpression expression = new CompiledTagExpression(Collections.<String>emptyList());
+
+        assertTrue(expression.isEmpty());
+        assertTrue(expression.evaluate(tags("@anything")));
+    }
+
+    private static List<Tag> tags(String... names) {
+        List<Tag> tags = new ArrayList<Tag>();
+        for (String name : names) {
+            tags.add(new Tag(name, 1));
+        }
+        return tags;
+    }
+
+    private static List<String> names(List<Tag> tags) {
+        List<String> names = new ArrayList<String>();
+        for (Tag tag : tags) {
+            names.add(tag.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,51 @@
+package cucumber.runtime;
+
+import cucumber.runtime.formatter.TempDir;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DurationHistoryTest {
+    @Test
+    public void is_empty_when_the_file_does_not_exist() throws IOException {
+        DurationHistory history = DurationHistory.read(new File(TempDir.createTempDirectory(), "durations"));
+
+        assertTrue(history.getDurations().isEmpty());
+    }
+
+    @Test
+    public void keeps_durations_of_scenarios_that_did_not_run_again() throws IOException {
+        File file = new File(TempDir.createTempDirectory(), "durations");
+        DurationHistory first = DurationHistory.read(file);
+        first.setDuration("feature;first-scenario", 1000);
+        first.setDuration("feature;outline;examples;2", 2000);
+        first.write();
+
+        DurationHistory second = DurationHistory.read(file);
+        second.setDuration("feature;outline;examples;2", 3000);
+        second.write();
+
+        DurationHistory read = DurationHistory.read(file);
+        assertEquals(Long.valueOf(1000), read.getDuration("feature;first-scenario"));
+        assertEquals(Long.valueOf(3000), read.getDuration("feature;outline;examples;2"));
+        assertNull(read.getDuration("feature;unknown"));
+    }
+
+    @Test
+    public void estimates_unknown_durations_with_the_average() {
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a", 10L);
+        durations.put("b", 20L);
+
+        assertArrayEquals(new long[]{10, 15, 20}, DurationHistory.estimateDurations(durations, asList("a", "c", "b")));
+    }
+}
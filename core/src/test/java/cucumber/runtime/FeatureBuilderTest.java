@@ -1,5 +1,6 @@
 package cucumber.runtime;
 
+import cucumber.runtime.formatter.TempDir;
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.model.CucumberFeature;
 import org.junit.Test;
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -60,10 +62,34 @@ public class FeatureBuilderTest {
         assertEquals("path/foo.feature", features.get(0).getPath());
     }
 
+    @Test
+    public void applies_filters_to_cached_features() throws IOException {
+        String gherkin = "" +
+                "Feature: foo\n" +
+                "  Scenario: scenario 1\n" +
+                "    * step\n" +
+                "  Scenario: scenario 2\n" +
+                "    * step\n";
+        FeatureCache featureCache = new FeatureCache(TempDir.createTempDirectory());
+        new FeatureBuilder(new ArrayList<CucumberFeature>(), featureCache).parse(createResourceMock("foo.feature", gherkin), NO_FILTERS);
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+
+        new FeatureBuilder(features, featureCache).parse(createResourceMock("foo.feature", gherkin), asList((Object) 4L));
+
+        assertEquals(1, featureCache.getHits());
+        assertEquals(1, features.size());
+        assertEquals(1, features.get(0).getFeatureElements().size());
+        assertEquals("Scenario: scenario 2", features.get(0).getFeatureElements().get(0).getVisualName());
+    }
+
     private Resource createResourceMock(String featurePath) throws IOException {
+        return createResourceMock(featurePath, "Feature: foo");
+    }
+
+    private Resource createResourceMock(String featurePath, String gherkin) throws IOException {
         Resource resource = mock(Resource.class);
         when(resource.getPath()).thenReturn(featurePath);
-        ByteArrayInputStream feature = new ByteArrayInputStream("Feature: foo".getBytes("UTF-8"));
+        ByteArrayInputStream feature = new ByteArrayInputStream(gherkin.getBytes("UTF-8"));
         when(resource.getInputStream()).thenReturn(feature);
         return resource;
     }
@@ -0,0 +1,209 @@
+package cucumber.runtime;
+
+import cucumber.runtime.formatter.TempDir;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.I18n;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.model.Background;
+import gherkin.formatter.model.Examples;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.ScenarioOutline;
+import gherkin.formatter.model.Step;
+import gherkin.parser.Parser;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class FeatureCacheTest {
+    private static final String GHERKIN = "" +
+            "# language: fr\n" +
+            "@tagged\n" +
+            "Fonctionnalité: cached\n" +
+            "  Some description\n" +
+            "\n" +
+            "  Contexte:\n" +
+            "    Soit a background step\n" +
+            "\n" +
+            "  # a comment\n" +
+            "  Scénario: a scenario\n" +
+            "    Soit a table\n" +
+            "      | a | b |\n" +
+            "      | 1 | 2 |\n" +
+            "    Et a doc string\n" +
+            "      \"\"\"\n" +
+            "      some text\n" +
+            "      \"\"\"\n" +
+            "\n" +
+            "  Plan du scénario: an outline\n" +
+            "    Soit <x>\n" +
+            "\n" +
+            "    @example\n" +
+            "    Exemples:\n" +
+            "      | x |\n" +
+            "      | 1 |\n";
+    private static final String CHECKSUM = new FeatureBuilder(new ArrayList<CucumberFeature>()).checksum(GHERKIN);
+
+    @Test
+    public void replays_the_same_statements_as_the_parser() throws IOException {
+        RecordingFormatter parsed = new RecordingFormatter();
+        Parser parser = new Parser(parsed);
+        parser.parse(GHERKIN, "path/cached.feature", 0);
+
+        FeatureCache featureCache = new FeatureCache(TempDir.createTempDirectory(), "1.0");
+        RecordingFormatter missed = new RecordingFormatter();
+        I18n missedI18n = featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", missed);
+        RecordingFormatter hit = new RecordingFormatter();
+        I18n hitI18n = featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", hit);
+
+        assertEquals(parsed.events, missed.events);
+        assertEquals(parsed.events, hit.events);
+        assertEquals("fr", missedI18n.getIsoCode());
+        assertEquals("fr", hitI18n.getIsoCode());
+        assertEquals(1, featureCache.getMisses());
+        assertEquals(1, featureCache.getHits());
+    }
+
+    @Test
+    public void reports_cached_features_at_the_given_uri() throws IOException {
+        FeatureCache featureCache = new FeatureCache(TempDir.createTempDirectory(), "1.0");
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+        RecordingFormatter copy = new RecordingFormatter();
+        featureCache.parse(GHERKIN, CHECKSUM, "path/copy.feature", copy);
+
+        assertEquals("uri:path/copy.feature", copy.events.get(0));
+        assertEquals(1, featureCache.getHits());
+    }
+
+    @Test
+    public void does_not_share_entries_between_versions() throws IOException {
+        File dir = TempDir.createTempDirectory();
+        new FeatureCache(dir, "1.0").parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+        FeatureCache featureCache = new FeatureCache(dir, "2.0");
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+
+        assertEquals(1, featureCache.getMisses());
+        assertEquals(0, featureCache.getHits());
+    }
+
+    @Test
+    public void parses_again_when_entry_is_corrupt() throws IOException {
+        File dir = TempDir.createTempDirectory();
+        FeatureCache featureCache = new FeatureCache(dir, "1.0");
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+        for (File entry : dir.listFiles()) {
+            FileOutputStream out = new FileOutputStream(entry);
+            out.write("garbage".getBytes("UTF-8"));
+            out.close();
+        }
+
+        RecordingFormatter reparsed = new RecordingFormatter();
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", reparsed);
+        RecordingFormatter hit = new RecordingFormatter();
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", hit);
+
+        assertEquals(2, featureCache.getMisses());
+        assertEquals(1, featureCache.getHits());
+        assertEquals(reparsed.events, hit.events);
+    }
+
+    @Test
+    public void does_not_read_other_classes_from_entries() throws IOException {
+        File dir = TempDir.createTempDirectory();
+        FeatureCache featureCache = new FeatureCache(dir, "1.0");
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+        for (File entry : dir.listFiles()) {
+            ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(entry));
+            out.writeObject(new Tampered());
+            out.close();
+        }
+
+        featureCache.parse(GHERKIN, CHECKSUM, "path/cached.feature", new RecordingFormatter());
+
+        assertFalse(Tampered.read);
+        assertEquals(2, featureCache.getMisses());
+    }
+
+    private static class Tampered implements Serializable {
+        static boolean read = false;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            read = true;
+            in.defaultReadObject();
+        }
+    }
+
+    private static class RecordingFormatter implements Formatter {
+        final List<Object> events = new ArrayList<Object>();
+
+        @Override
+        public void uri(String uri) {
+            events.add("uri:" + uri);
+        }
+
+        @Override
+        public void feature(Feature feature) {
+            events.add(feature.toMap());
+        }
+
+        @Override
+        public void background(Background background) {
+            events.add(background.toMap());
+        }
+
+        @Override
+        public void scenario(Scenario scenario) {
+            events.add(scenario.toMap());
+        }
+
+        @Override
+        public void scenarioOutline(ScenarioOutline scenarioOutline) {
+            events.add(scenarioOutline.toMap());
+        }
+
+        @Override
+        public void examples(Examples examples) {
+            events.add(examples.toMap());
+        }
+
+        @Override
+        public void step(Step step) {
+            events.add(step.toMap());
+        }
+
+        @Override
+        public void eof() {
+            events.add("eof");
+        }
+
+        @Override
+        public void syntaxError(String state, String event, List<String> legalEvents, String uri, Integer line) {
+        }
+
+        @Override
+        public void done() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void startOfScenarioLifeCycle(Scenario scenario) {
+        }
+
+        @Override
+        public void endOfScenarioLifeCycle(Scenario scenario) {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package cucumber.runtime;
+
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.formatter.model.Step;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GlueRegistryTest {
+    private final ResourceLoader resourceLoader = mock(ResourceLoader.class);
+    private final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    private final ClassFinder classFinder = mock(ClassFinder.class);
+
+    @Before
+    public void findCountingBackend() {
+        GlueRegistry.clear();
+        CountingBackend.loadedGlues = 0;
+        Collection<Class<? extends Backend>> backendClasses = new ArrayList<Class<? extends Backend>>();
+        backendClasses.add(CountingBackend.class);
+        when(classFinder.getDescendants(Backend.class, "cucumber.runtime")).thenReturn(backendClasses);
+    }
+
+    @After
+    public void clearRegistry() {
+        GlueRegistry.clear();
+    }
+
+    @Test
+    public void reuses_released_backends_and_glue() {
+        Runtime first = createRuntime("--glue", "some/glue");
+        first.releaseGlue();
+        Runtime second = createRuntime("--glue", "some/glue");
+
+        assertEquals(1, CountingBackend.loadedGlues);
+        assertSame(backendOf(first), backendOf(second));
+        assertEquals(1, ((RuntimeGlue) second.getGlue()).getStepDefinitions().size());
+        assertEquals(1, second.getGlue().getBeforeHooks().size());
+    }
+
+    @Test
+    public void releases_backends_only_once() {
+        Runtime first = createRuntime("--glue", "some/glue");
+        first.releaseGlue();
+        first.releaseGlue();
+        createRuntime("--glue", "some/glue");
+        createRuntime("--glue", "some/glue");
+
+        assertEquals(2, CountingBackend.loadedGlues);
+    }
+
+    @Test
+    public void does_not_reuse_glue_unless_asked_to() {
+        new Runtime(resourceLoader, classFinder, classLoader, new RuntimeOptions(asList("--glue", "some/glue"))).releaseGlue();
+        createRuntime("--glue", "some/glue");
+
+        assertEquals(2, CountingBackend.loadedGlues);
+    }
+
+    @Test
+    public void loads_glue_again_while_backends_are_in_use() {
+        createRuntime("--glue", "some/glue");
+        createRuntime("--glue", "some/glue");
+
+        assertEquals(2, CountingBackend.loadedGlues);
+    }
+
+    @Test
+    public void loads_glue_again_for_other_glue_paths() {
+        createRuntime("--glue", "some/glue").releaseGlue();
+        createRuntime("--glue", "other/glue");
+
+        assertEquals(2, CountingBackend.loadedGlues);
+    }
+
+    @Test
+    public void does_not_reuse_backends_passed_to_the_runtime() {
+        Backend backend = new CountingBackend(resourceLoader);
+        new Runtime(resourceLoader, classLoader, asList(backend), new RuntimeOptions(asList("--glue", "some/glue", "--reuse-glue"))).releaseGlue();
+        createRuntime("--glue", "some/glue");
+
+        assertEquals(2, CountingBackend.loadedGlues);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Backend backendOf(Runtime runtime) {
+        return ((Collection<? extends Backend>) Whitebox.getInternalState(runtime, "backends")).iterator().next();
+    }
+
+    private Runtime createRuntime(String... args) {
+        List<String> reuseGlueArgs = new ArrayList<String>(asList(args));
+        reuseGlueArgs.add("--reuse-glue");
+        return new Runtime(resourceLoader, classFinder, classLoader, new RuntimeOptions(reuseGlueArgs));
+    }
+
+    public static class CountingBackend implements Backend {
+        static int loadedGlues;
+
+        public CountingBackend(ResourceLoader resourceLoader) {
+        }
+
+        @Override
+        public void loadGlue(Glue glue, List<String> gluePaths) {
+            loadedGlues++;
+            StepDefinition stepDefinition = mock(StepDefinition.class);
+            when(stepDefinition.getPattern()).thenReturn("^a step$");
+            glue.addStepDefinition(stepDefinition);
+            glue.addBeforeHook(mock(HookDefinition.class));
+        }
+
+        @Override
+        public void setUnreportedStepExecutor(UnreportedStepExecutor executor) {
+        }
+
+        @Override
+        public void buildWorld() {
+        }
+
+        @Override
+        public void disposeWorld() {
+        }
+
+        @Override
+        public String getSnippet(Step step, FunctionNameGenerator functionNameGenerator) {
+            return toString();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package cucumber.runtime;
+
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HookMatcherTest {
+    private final HookMatcher hookMatcher = new HookMatcher();
+
+    @Test
+    public void matches_hooks_once_per_distinct_tag_names() {
+        HookDefinition hook = hook(true);
+        List<HookDefinition> hooks = asList(hook);
+
+        hookMatcher.matching(hooks, tags("@a", "@b"));
+        hookMatcher.matching(hooks, new TagSet(tags("@b", "@a")));
+        hookMatcher.matching(hooks, tags("@a"));
+
+        verify(hook, times(2)).matches(anyCollectionOf(Tag.class));
+    }
+
+    @Test
+    public void keeps_only_matching_hooks_in_order() {
+        HookDefinition first = hook(true);
+        HookDefinition second = hook(false);
+        HookDefinition third = hook(true);
+
+        assertEquals(asList(first, third), hookMatcher.matching(asList(first, second, third), tags("@a")));
+    }
+
+    @Test
+    public void matches_again_when_the_hooks_change() {
+        HookDefinition hook = hook(true);
+        List<HookDefinition> hooks = new ArrayList<HookDefinition>(asList(hook));
+        hookMatcher.matching(hooks, tags("@a"));
+        HookDefinition added = hook(true);
+        hooks.add(added);
+
+        assertEquals(asList(hook, added), hookMatcher.matching(hooks, tags("@a")));
+    }
+
+    private HookDefinition hook(boolean matches) {
+        HookDefinition hook = mock(HookDefinition.class);
+        when(hook.matches(anyCollectionOf(Tag.class))).thenReturn(matches);
+        return hook;
+    }
+
+    private Collection<Tag> tags(String... names) {
+        List<Tag> tags = new ArrayList<Tag>();
+        for (String name : names) {
+            tags.add(new Tag(name, 1));
+        }
+        return tags;
+    }
+}
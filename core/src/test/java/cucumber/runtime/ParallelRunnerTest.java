@@ -0,0 +1,186 @@
+package cucumber.runtime;
+
+import cucumber.runtime.formatter.CucumberJSONFormatter;
+import cucumber.runtime.formatter.TempDir;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.I18n;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.JSONFormatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static cucumber.runtime.TestHelper.feature;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParallelRunnerTest {
+    @Test
+    public void replays_events_in_the_same_order_as_a_sequential_run() throws Exception {
+        List<CucumberFeature> features = asList(
+                feature("a.feature", "" +
+                        "Feature: a\n" +
+                        "  Background: background\n" +
+                        "    Given b\n" +
+                        "  Scenario: one\n" +
+                        "    When s1\n" +
+                        "  Scenario Outline: outline\n" +
+                        "    When <x>\n" +
+                        "    Examples:\n" +
+                        "      | x  |\n" +
+                        "      | e1 |\n" +
+                        "      | e2 |\n" +
+                        "      | e3 |\n"),
+                feature("b.feature", "" +
+                        "Feature: b\n" +
+                        "  Scenario: two\n" +
+                        "    When s2\n" +
+                        "  Scenario: three\n" +
+                        "    When s3\n"));
+
+        StringBuilder sequential = new StringBuilder();
+        JSONFormatter sequentialFormatter = new CucumberJSONFormatter(sequential);
+        Runtime runtime = createRuntime();
+        for (CucumberFeature feature : features) {
+            feature.run(sequentialFormatter, sequentialFormatter, runtime);
+        }
+        sequentialFormatter.done();
+
+        StringBuilder parallel = new StringBuilder();
+        JSONFormatter parallelFormatter = new CucumberJSONFormatter(parallel);
+        List<Runtime> workers = new ArrayList<Runtime>();
+        workers.add(createRuntime());
+        workers.add(createRuntime());
+        workers.add(createRuntime());
+        new ParallelRunner(workers).run(features, parallelFormatter, parallelFormatter);
+        parallelFormatter.done();
+
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+
+    @Test
+    public void starts_the_slowest_scenarios_first() throws Exception {
+        List<CucumberFeature> features = asList(feature("a.feature", "" +
+                "Feature: a\n" +
+                "  Scenario: fast\n" +
+                "    When fast\n" +
+                "  Scenario: new\n" +
+                "    When new\n" +
+                "  Scenario Outline: outline\n" +
+                "    When <x>\n" +
+                "    Examples:\n" +
+                "      | x    |\n" +
+                "      | slow |\n"));
+        File file = new File(TempDir.createTempDirectory(), "durations");
+        DurationHistory history = DurationHistory.read(file);
+        history.setDuration("a;fast", 10);
+        history.setDuration("a;outline;;2", 30);
+
+        final List<String> started = new ArrayList<String>();
+        RuntimeGlue glue = mock(RuntimeGlue.class);
+        when(glue.stepDefinitionMatch(anyString(), any(Step.class), any(I18n.class))).thenAnswer(new Answer<StepDefinitionMatch>() {
+            @Override
+            public StepDefinitionMatch answer(InvocationOnMock invocation) {
+                started.add(((Step) invocation.getArguments()[1]).getName());
+                return null;
+            }
+        });
+        Runtime worker = new Runtime(mock(ResourceLoader.class), Thread.currentThread().getContextClassLoader(), asList(mock(Backend.class)),
+                new RuntimeOptions(""), new StopWatch.Stub(0), glue);
+        Formatter formatter = mock(Formatter.class);
+        new ParallelRunner(asList(worker), history).run(features, formatter, mock(Reporter.class));
+
+        assertEquals(asList("slow", "new", "fast"), started);
+    }
+
+    @Test
+    public void releases_replayed_scenarios() throws Exception {
+        List<CucumberFeature> features = asList(feature("a.feature", "" +
+                "Feature: a\n" +
+                "  Scenario Outline: outline\n" +
+                "    When <x>\n" +
+                "    Examples:\n" +
+                "      | x  |\n" +
+                "      | e1 |\n" +
+                "      | e2 |\n" +
+                "      | e3 |\n"));
+        final List<WeakReference<Object>> recorders = new ArrayList<WeakReference<Object>>();
+        Runtime worker = createRuntime();
+        // Neither this hook nor the formatter below are mocks, which would keep the arguments of every call
+        worker.getGlue().addBeforeHook(new HookDefinition() {
+            @Override
+            public void execute(cucumber.api.Scenario scenario) {
+                Object reporter = Whitebox.getInternalState(scenario, "reporter");
+                recorders.add(new WeakReference<Object>(Proxy.getInvocationHandler(reporter)));
+            }
+
+            @Override
+            public String getLocation(boolean detail) {
+                return "hook";
+            }
+
+            @Override
+            public boolean matches(Collection<Tag> tags) {
+                return true;
+            }
+
+            @Override
+            public int getOrder() {
+                return 0;
+            }
+        });
+        final List<Boolean> firstUnitCollected = new ArrayList<Boolean>();
+        Object formatter = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Formatter.class, Reporter.class}, new InvocationHandler() {
+            private int replayedScenarios = 0;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("scenario") && ++replayedScenarios == 3) {
+                    // The events of the first example were replayed, and the worker has moved on to the last one
+                    firstUnitCollected.add(isCollected(recorders.get(0)));
+                }
+                return null;
+            }
+        });
+
+        new ParallelRunner(asList(worker)).run(features, (Formatter) formatter, (Reporter) formatter);
+
+        assertEquals(asList(true), firstUnitCollected);
+    }
+
+    private static boolean isCollected(WeakReference<?> reference) {
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return reference.get() == null;
+    }
+
+    private Runtime createRuntime() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        RuntimeOptions runtimeOptions = new RuntimeOptions("");
+        return new Runtime(mock(ResourceLoader.class), classLoader, asList(mock(Backend.class)), runtimeOptions, new StopWatch.Stub(0), null);
+    }
+}
@@ -1,10 +1,13 @@
 package cucumber.runtime;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -37,6 +40,17 @@ public class ParameterInfoTest {
         assertEquals(23, pt.convert("23", US));
     }
 
+    @Test
+    public void keeps_resolved_converters_with_the_xstream() throws NoSuchMethodException {
+        ParameterInfo pt = ParameterInfo.fromMethod(getClass().getMethod("withInt", Integer.TYPE)).get(0);
+        LocalizedXStreams.LocalizedXStream xStream = new LocalizedXStreams(Thread.currentThread().getContextClassLoader()).get(Locale.US);
+        assertNull(xStream.getParameterConverter(pt));
+
+        pt.convert("23", xStream);
+
+        assertSame(xStream.getSingleValueConverter(Integer.TYPE), xStream.getParameterConverter(pt));
+    }
+
     public void withJodaTime(@Transform(JodaTransformer.class) LocalDate date) {
     }
 
@@ -149,4 +163,16 @@ public class ParameterInfoTest {
         Date sampleDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH).parse("1985-02-12T16:05:12");
         assertEquals(sampleDate, parameterInfo.convert("1985-02-12T16:05:12", US));
     }
+
+    public void withCalendar(Calendar calendar) {
+    }
+
+    @Test
+    public void reuses_converter_for_each_locale() throws NoSuchMethodException, ParseException {
+        ParameterInfo parameterInfo = ParameterInfo.fromMethod(getClass().getMethod("withCalendar", Calendar.class)).get(0);
+        Date aslaksBirthday = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH).parse("1971-02-28");
+        assertEquals(aslaksBirthday, ((Calendar) parameterInfo.convert("02/28/1971", US)).getTime());
+        assertEquals(aslaksBirthday, ((Calendar) parameterInfo.convert("28/02/1971", FR)).getTime());
+        assertEquals(aslaksBirthday, ((Calendar) parameterInfo.convert("02/28/1971", US)).getTime());
+    }
 }
@@ -1,11 +1,25 @@
 package cucumber.runtime;
 
 import cucumber.runtime.xstream.LocalizedXStreams;
+import gherkin.I18n;
+import gherkin.formatter.Argument;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.Step;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RuntimeGlueTest {
@@ -29,4 +43,82 @@ public class RuntimeGlueTest {
         }
     }
 
+    @Test
+    public void only_matches_step_definitions_with_a_matching_literal_prefix() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+        StepDefinition cukes = regexpStepDefinition("^I have (\\d+) cukes$", "cukes.bf:1");
+        StepDefinition cakes = regexpStepDefinition("^I have (\\d+) cakes$", "cakes.bf:1");
+        glue.addStepDefinition(cukes);
+        glue.addStepDefinition(cakes);
+
+        StepDefinitionMatch match = glue.stepDefinitionMatch("some.feature", step("I have 4 cakes"), new I18n("en"));
+
+        assertEquals("^I have (\\d+) cakes$", match.getPattern());
+        assertNull(glue.stepDefinitionMatch("some.feature", step("I eat 4 cakes"), new I18n("en")));
+    }
+
+    @Test
+    public void detects_ambiguity_between_indexed_and_unindexed_step_definitions() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+        glue.addStepDefinition(regexpStepDefinition("^I have (\\d+) cukes$", "cukes.bf:1"));
+        glue.addStepDefinition(regexpStepDefinition("I have (\\d+) cukes", "unanchored.bf:1"));
+        glue.addStepDefinition(regexpStepDefinition("^You have (\\d+) cukes$", "you.bf:1"));
+
+        try {
+            glue.stepDefinitionMatch("some.feature", step("I have 4 cukes"), new I18n("en"));
+            fail("should have failed");
+        } catch (AmbiguousStepDefinitionsException expected) {
+            assertEquals(2, expected.getMatches().size());
+            assertEquals("I have (\\d+) cukes", expected.getMatches().get(0).getPattern());
+            assertEquals("^I have (\\d+) cukes$", expected.getMatches().get(1).getPattern());
+        }
+    }
+
+    @Test
+    public void reuses_resolved_step_definitions_for_repeated_steps() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+        StepDefinition cukes = regexpStepDefinition("^I have (\\d+) cukes$", "cukes.bf:1");
+        glue.addStepDefinition(cukes);
+
+        StepDefinitionMatch first = glue.stepDefinitionMatch("first.feature", step("I have 4 cukes"), new I18n("en"));
+        StepDefinitionMatch second = glue.stepDefinitionMatch("second.feature", step("I have 4 cukes"), new I18n("en"));
+
+        assertEquals(1, glue.getMatchCacheMisses());
+        assertEquals(1, glue.getMatchCacheHits());
+        assertEquals("4", second.getArguments().get(0).getVal());
+        assertEquals(first.getArguments().get(0).getOffset(), second.getArguments().get(0).getOffset());
+        assertEquals("second.feature", second.getStepLocation().getFileName());
+        verify(cukes, times(1)).matchedArguments((Step) any());
+    }
+
+    @Test
+    public void forgets_resolved_step_definitions_when_glue_changes() {
+        RuntimeGlue glue = new RuntimeGlue(new UndefinedStepsTracker(), new LocalizedXStreams(Thread.currentThread().getContextClassLoader()));
+        assertNull(glue.stepDefinitionMatch("some.feature", step("I have 4 cukes"), new I18n("en")));
+
+        glue.addStepDefinition(regexpStepDefinition("^I have (\\d+) cukes$", "cukes.bf:1"));
+
+        assertEquals("^I have (\\d+) cukes$", glue.stepDefinitionMatch("some.feature", step("I have 4 cukes"), new I18n("en")).getPattern());
+        assertEquals(2, glue.getMatchCacheMisses());
+    }
+
+    private StepDefinition regexpStepDefinition(String pattern, String location) {
+        final JdkPatternArgumentMatcher argumentMatcher = new JdkPatternArgumentMatcher(Pattern.compile(pattern));
+        JdkPatternStepDefinition stepDefinition = mock(JdkPatternStepDefinition.class);
+        when(stepDefinition.getPattern()).thenReturn(pattern);
+        when(stepDefinition.getJdkPattern()).thenReturn(Pattern.compile(pattern));
+        when(stepDefinition.getLocation(false)).thenReturn(location);
+        when(stepDefinition.matchedArguments((Step) any())).thenAnswer(new Answer<List<Argument>>() {
+            @Override
+            public List<Argument> answer(InvocationOnMock invocation) {
+                return argumentMatcher.argumentsFrom(((Step) invocation.getArguments()[0]).getName());
+            }
+        });
+        return stepDefinition;
+    }
+
+    private Step step(String name) {
+        return new Step(Collections.<Comment>emptyList(), "Given ", name, 1, null, null);
+    }
+
 }
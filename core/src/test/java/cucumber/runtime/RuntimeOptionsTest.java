@@ -11,6 +11,7 @@ import gherkin.formatter.Formatter;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
@@ -244,6 +245,76 @@ public class RuntimeOptionsTest {
         assertEquals(SnippetType.CAMELCASE, runtimeOptions.getSnippetType());
     }
 
+    @Test
+    public void default_threads_is_one() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertEquals(1, options.getThreads());
+    }
+
+    @Test
+    public void assigns_threads() {
+        RuntimeOptions options = new RuntimeOptions(asList("--threads", "4", "--glue", "somewhere"));
+        assertEquals(4, options.getThreads());
+    }
+
+    @Test
+    public void fail_on_non_positive_threads() {
+        try {
+            new RuntimeOptions(asList("--threads", "0"));
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("--threads must be at least 1, but was 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void assigns_feature_cache_dir() {
+        RuntimeOptions options = new RuntimeOptions(asList("--feature-cache", "target/feature-cache", "--glue", "somewhere"));
+        assertEquals(new File("target/feature-cache"), options.getFeatureCacheDir());
+    }
+
+    @Test
+    public void reuses_glue_only_when_asked_to() {
+        assertTrue(new RuntimeOptions(asList("--reuse-glue", "--glue", "somewhere")).isReuseGlue());
+        assertFalse(new RuntimeOptions(asList("--reuse-glue", "--no-reuse-glue")).isReuseGlue());
+        assertFalse(new RuntimeOptions("").isReuseGlue());
+    }
+
+    @Test
+    public void fail_fast_defaults_to_one_failure() {
+        RuntimeOptions options = new RuntimeOptions(asList("--fail-fast", "--glue", "somewhere"));
+        assertEquals(1, options.getFailFast());
+    }
+
+    @Test
+    public void assigns_fail_fast() {
+        RuntimeOptions options = new RuntimeOptions(asList("--fail-fast", "3", "--glue", "somewhere"));
+        assertEquals(3, options.getFailFast());
+        assertEquals(0, new RuntimeOptions("").getFailFast());
+    }
+
+    @Test
+    public void assigns_slowest_first() {
+        RuntimeOptions options = new RuntimeOptions(asList("--slowest-first", "target/durations", "--glue", "somewhere"));
+        assertEquals(new File("target/durations"), options.getSlowestFirst());
+    }
+
+    @Test
+    public void assigns_shard() {
+        RuntimeOptions options = new RuntimeOptions(asList("--shard", "2/3", "--shard-strategy", "round-robin", "--glue", "somewhere"));
+        assertEquals("2/3", options.getShard().toString());
+    }
+
+    @Test
+    public void fail_on_invalid_shard() {
+        try {
+            new RuntimeOptions(asList("--shard", "4/3"));
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("--shard must be INDEX/TOTAL with 1 <= INDEX <= TOTAL, but was 4/3", e.getMessage());
+        }
+    }
+
     @Test
     public void applies_line_filters_only_to_own_feature() throws Exception {
         String featurePath1 = "path/bar.feature";
@@ -29,6 +29,7 @@ import java.util.List;
 
 import static cucumber.runtime.TestHelper.feature;
 import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
@@ -40,8 +41,10 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 public class RuntimeTest {
 
@@ -321,6 +324,106 @@ public class RuntimeTest {
                         "1 Steps (1 undefined)%n")));
     }
 
+    @Test
+    public void should_skip_scenarios_after_fail_fast_limit() throws Throwable {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Reporter reporter = mock(Reporter.class);
+        StepDefinitionMatch match = createExceptionThrowingMatch(new Exception());
+
+        Runtime runtime = createRuntimeWithMockedGlue(match, "--monochrome", "--fail-fast", "2");
+        runScenario(reporter, runtime, stepCount(1));
+        runScenario(reporter, runtime, stepCount(1));
+        runScenario(reporter, runtime, stepCount(2));
+        runtime.printStats(new PrintStream(baos));
+
+        assertThat(baos.toString(), startsWith(String.format(
+                "3 Scenarios (2 failed, 1 skipped)%n" +
+                        "4 Steps (2 failed, 2 skipped)%n")));
+        assertThat(baos.toString(), containsString("Skipped 1 scenario after 2 failed (--fail-fast)"));
+        verify(match, times(2)).runStep((I18n) any());
+        verify(reporter, times(4)).match(match);
+    }
+
+    @Test
+    public void should_run_background_once_per_feature_when_tagged() throws Throwable {
+        CucumberFeature feature = feature("path/test.feature", "" +
+                "@background-once\n" +
+                "Feature: feature name\n" +
+                "  Background: background name\n" +
+                "    Given background step\n" +
+                "  Scenario: first\n" +
+                "    When scenario step\n" +
+                "  Scenario: second\n" +
+                "    When scenario step\n");
+        Backend backend = mock(Backend.class, withSettings().extraInterfaces(SnapshotBackend.class));
+        Object snapshot = new Object();
+        when(((SnapshotBackend) backend).snapshotWorld()).thenReturn(snapshot);
+        StepDefinitionMatch match = mock(StepDefinitionMatch.class);
+        RuntimeGlue glue = mock(RuntimeGlue.class);
+        mockMatch(glue, match, false);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        Runtime runtime = new Runtime(mock(ResourceLoader.class), mock(ClassLoader.class), asList(backend), new RuntimeOptions(asList("--monochrome")), glue);
+        feature.run(mock(Formatter.class), mock(Reporter.class), runtime);
+        runtime.printStats(new PrintStream(baos));
+
+        verify(match, times(3)).runStep((I18n) any());
+        verify((SnapshotBackend) backend).restoreWorld(snapshot);
+        assertThat(baos.toString(), startsWith(String.format(
+                "2 Scenarios (2 passed)%n" +
+                        "4 Steps (4 passed)%n")));
+    }
+
+    @Test
+    public void should_run_background_for_every_scenario_when_backends_cannot_snapshot() throws Throwable {
+        CucumberFeature feature = feature("path/test.feature", "" +
+                "@background-once\n" +
+                "Feature: feature name\n" +
+                "  Background: background name\n" +
+                "    Given background step\n" +
+                "  Scenario: first\n" +
+                "    When scenario step\n" +
+                "  Scenario: second\n" +
+                "    When scenario step\n");
+        StepDefinitionMatch match = mock(StepDefinitionMatch.class);
+        Runtime runtime = createRuntimeWithMockedGlue(match, "--monochrome");
+
+        feature.run(mock(Formatter.class), mock(Reporter.class), runtime);
+
+        verify(match, times(4)).runStep((I18n) any());
+    }
+
+    @Test
+    public void should_only_keep_the_background_snapshots_of_the_current_feature() throws Throwable {
+        CucumberFeature first = feature("path/first.feature", "" +
+                "@background-once\n" +
+                "Feature: first feature\n" +
+                "  Background: background name\n" +
+                "    Given background step\n" +
+                "  Scenario: first\n" +
+                "    When scenario step\n" +
+                "  Scenario: second\n" +
+                "    When scenario step\n");
+        CucumberFeature second = feature("path/second.feature", "" +
+                "@background-once\n" +
+                "Feature: second feature\n" +
+                "  Background: background name\n" +
+                "    Given background step\n" +
+                "  Scenario: only\n" +
+                "    When scenario step\n");
+        Backend backend = mock(Backend.class, withSettings().extraInterfaces(SnapshotBackend.class));
+        RuntimeGlue glue = mock(RuntimeGlue.class);
+        mockMatch(glue, mock(StepDefinitionMatch.class), false);
+
+        Runtime runtime = new Runtime(mock(ResourceLoader.class), mock(ClassLoader.class), asList(backend), new RuntimeOptions(asList("--monochrome")), glue);
+        first.run(mock(Formatter.class), mock(Reporter.class), runtime);
+        second.run(mock(Formatter.class), mock(Reporter.class), runtime);
+        first.run(mock(Formatter.class), mock(Reporter.class), runtime);
+
+        verify((SnapshotBackend) backend, times(3)).snapshotWorld();
+        verify((SnapshotBackend) backend, times(2)).restoreWorld(any());
+    }
+
     @Test
     public void should_fail_the_scenario_if_before_fails() throws Throwable {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
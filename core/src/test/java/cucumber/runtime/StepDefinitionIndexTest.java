@@ -0,0 +1,118 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static cucumber.runtime.StepDefinitionIndex.literalPrefix;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StepDefinitionIndexTest {
+    @Test
+    public void derives_literal_prefix_of_anchored_patterns() {
+        assertEquals("I have ", literalPrefix("^I have (\\d+) cukes$"));
+        assertEquals("I pay $", literalPrefix("^I pay \\$(\\d+)$"));
+        assertEquals("the user is logged in", literalPrefix("^the user is logged in$"));
+    }
+
+    @Test
+    public void stops_before_quantified_literals() {
+        assertEquals("I have cuke", literalPrefix("^I have cukes?$"));
+        assertEquals("I hav", literalPrefix("^I have* cukes$"));
+        assertEquals("", literalPrefix("^a{2} cukes$"));
+    }
+
+    @Test
+    public void stops_at_character_classes_and_wildcards() {
+        assertEquals("I have ", literalPrefix("^I have \\d+ cukes$"));
+        assertEquals("I have ", literalPrefix("^I have [0-9]+ cukes$"));
+        assertEquals("I have ", literalPrefix("^I have .* cukes$"));
+    }
+
+    @Test
+    public void has_no_prefix_when_not_anchored() {
+        assertNull(literalPrefix("I have (\\d+) cukes$"));
+        assertNull(literalPrefix("/^I have (\\d+) cukes$/"));
+    }
+
+    @Test
+    public void has_no_prefix_with_top_level_alternation() {
+        assertNull(literalPrefix("^I have cukes|^I have cakes"));
+        assertEquals("I have ", literalPrefix("^I have (cukes|cakes)$"));
+        assertEquals("I have ", literalPrefix("^I have [|] cukes$"));
+    }
+
+    @Test
+    public void has_no_prefix_with_inline_flags() {
+        assertNull(literalPrefix("^(?i)I have cukes$"));
+        assertNull(literalPrefix("^I have (?x) cukes$"));
+        assertEquals("I have ", literalPrefix("^I have (?:cukes|cakes)$"));
+    }
+
+    @Test
+    public void returns_candidates_in_pattern_order() {
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        StepDefinition anything = stepDefinition("^(.*)$");
+        StepDefinition have = stepDefinition("^I have (.*)$");
+        StepDefinition eat = stepDefinition("^I eat (\\d+) cukes$");
+        index.add(cukes);
+        index.add(anything);
+        index.add(have);
+        index.add(eat);
+
+        assertEquals(asList(anything, have, cukes), toList(index.candidates("I have 5 cukes")));
+        assertEquals(asList(anything, eat), toList(index.candidates("I eat 5 cukes")));
+        assertEquals(asList(anything), toList(index.candidates("You have 5 cukes")));
+    }
+
+    @Test
+    public void returns_step_definitions_added_after_a_lookup() {
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        StepDefinition cukes = stepDefinition("^I have (\\d+) cukes$");
+        index.add(cukes);
+        assertEquals(asList(cukes), toList(index.candidates("I have 5 cukes")));
+
+        StepDefinition anything = stepDefinition("^(.*)$");
+        index.add(anything);
+
+        assertEquals(asList(anything, cukes), toList(index.candidates("I have 5 cukes")));
+    }
+
+    @Test
+    public void always_returns_step_definitions_with_flags_or_without_jdk_patterns() {
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        StepDefinition caseInsensitive = stepDefinition(Pattern.compile("^I have cukes$", Pattern.CASE_INSENSITIVE));
+        StepDefinition otherBackend = mock(StepDefinition.class);
+        when(otherBackend.getPattern()).thenReturn("^I eat cukes$");
+        index.add(caseInsensitive);
+        index.add(otherBackend);
+
+        assertEquals(asList(otherBackend, caseInsensitive), toList(index.candidates("i HAVE cukes")));
+    }
+
+    private StepDefinition stepDefinition(String pattern) {
+        return stepDefinition(Pattern.compile(pattern));
+    }
+
+    private StepDefinition stepDefinition(Pattern pattern) {
+        JdkPatternStepDefinition stepDefinition = mock(JdkPatternStepDefinition.class);
+        when(stepDefinition.getPattern()).thenReturn(pattern.pattern());
+        when(stepDefinition.getJdkPattern()).thenReturn(pattern);
+        return stepDefinition;
+    }
+
+    private List<StepDefinition> toList(Iterable<StepDefinition> stepDefinitions) {
+        List<StepDefinition> result = new ArrayList<StepDefinition>();
+        for (StepDefinition stepDefinition : stepDefinitions) {
+            result.add(stepDefinition);
+        }
+        return result;
+    }
+}
@@ -71,6 +71,45 @@ public class TimeoutTest {
                    cleanedUp);
     }
 
+    @Test
+    public void counts_timed_out_invocations() throws Throwable {
+        long before = Timeout.getTimedOutInvocations();
+        try {
+            Timeout.timeout(new Timeout.Callback<Void>() {
+                @Override
+                public Void call() throws Throwable {
+                    new Slow().infinite();
+                    return null;
+                }
+            }, 10);
+            fail();
+        } catch (TimeoutException expected) {
+        }
+        assertEquals(before + 1, Timeout.getTimedOutInvocations());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void reuses_timer_thread() throws Throwable {
+        for (int i = 0; i < 3; i++) {
+            String threadName = Timeout.timeout(new Timeout.Callback<String>() {
+                @Override
+                public String call() throws Throwable {
+                    return Thread.currentThread().getName();
+                }
+            }, 1000);
+            assertEquals(Thread.currentThread().getName(), threadName);
+        }
+        int timerThreads = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("cucumber-timeout")) {
+                assertTrue(thread.isDaemon());
+                timerThreads++;
+            }
+        }
+        assertEquals(1, timerThreads);
+    }
+
     public static class Slow {
         public String slow() throws InterruptedException {
             sleep(10);
@@ -2,6 +2,7 @@ package cucumber.runtime;
 
 import org.junit.Test;
 
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 
@@ -33,4 +34,30 @@ public class UtilsTest {
         URL url = new URL(dotCucumber, "stepdefs.json");
         assertEquals(new URL("file:foo/bar/.cucumber/stepdefs.json"), url);
     }
+
+    @Test
+    public void invokes_without_timeout() throws Throwable {
+        Method method = Utils.accessible(Counter.class.getMethod("increment"));
+        Counter counter = new Counter();
+        Utils.invoke(counter, method, 0);
+        Utils.invoke(counter, method, 1000);
+        assertEquals(2, counter.count);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rethrows_exception_thrown_by_method_without_timeout() throws Throwable {
+        Utils.invoke(new Counter(), Counter.class.getMethod("fail"), 0);
+    }
+
+    public static class Counter {
+        private int count;
+
+        public void increment() {
+            count++;
+        }
+
+        public void fail() {
+            throw new IllegalStateException();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.DurationHistory;
+import cucumber.runtime.TestHelper;
+import cucumber.runtime.model.CucumberFeature;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class DurationHistoryFormatterTest {
+    @Test
+    public void records_the_duration_of_steps_and_hooks_per_scenario() throws Throwable {
+        CucumberFeature feature = TestHelper.feature("path/test.feature", "" +
+                "Feature: feature name\n" +
+                "  Background: the background\n" +
+                "    Given background step\n" +
+                "  Scenario: scenario name\n" +
+                "    When first step\n" +
+                "    Then second step\n" +
+                "  Scenario Outline: outline name\n" +
+                "    Then <x> step\n" +
+                "    Examples: examples\n" +
+                "      | x     |\n" +
+                "      | first |\n");
+        Map<String, String> stepsToResult = new HashMap<String, String>();
+        stepsToResult.put("background step", "passed");
+        stepsToResult.put("first step", "passed");
+        stepsToResult.put("second step", "passed");
+        File file = new File(TempDir.createTempDirectory(), "durations");
+
+        DurationHistoryFormatter formatter = new DurationHistoryFormatter(file);
+        TestHelper.runFeatureWithFormatter(feature, stepsToResult, asList(new SimpleEntry<String, String>("before", "passed")), 1000L, formatter, formatter);
+
+        DurationHistory history = DurationHistory.read(file);
+        assertEquals(Long.valueOf(4000), history.getDuration("feature-name;scenario-name"));
+        assertEquals(Long.valueOf(3000), history.getDuration("feature-name;outline-name;examples;2"));
+        assertEquals(2, history.getDurations().size());
+    }
+}
@@ -0,0 +1,140 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.HookDefinition;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.StopWatch;
+import cucumber.runtime.io.ClasspathResourceLoader;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.deps.com.google.gson.JsonParser;
+import gherkin.formatter.Argument;
+import gherkin.formatter.Formatter;
+import gherkin.formatter.Reporter;
+import gherkin.formatter.model.Comment;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.DocString;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.Step;
+import gherkin.formatter.model.Tag;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StreamingJSONFormatterTest {
+
+    @Test
+    public void writes_same_report_as_json_plugin() throws Exception {
+        HookDefinition hook = mock(HookDefinition.class);
+        when(hook.matches(anyListOf(Tag.class))).thenReturn(true);
+        File expected = File.createTempFile("cucumber-jvm-json", ".json");
+        File actual = File.createTempFile("cucumber-jvm-json", ".json");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        List<String> args = new ArrayList<String>();
+        args.add("--plugin");
+        args.add("json:" + expected.getAbsolutePath());
+        args.add("--plugin");
+        args.add("json-stream:" + actual.getAbsolutePath());
+        args.add("cucumber/runtime/formatter/JSONPrettyFormatterTest.feature");
+        args.add("cucumber/runtime/formatter/JUnitFormatterTest_2.feature");
+
+        Backend backend = mock(Backend.class);
+        when(backend.getSnippet(any(Step.class), any(FunctionNameGenerator.class))).thenReturn("TEST SNIPPET");
+        Runtime runtime = new Runtime(new ClasspathResourceLoader(classLoader), classLoader, asList(backend), new RuntimeOptions(args), new StopWatch.Stub(1234), null);
+        runtime.getGlue().addBeforeHook(hook);
+        runtime.run();
+
+        assertJsonEquals(read(expected), read(actual));
+    }
+
+    @Test
+    public void writes_embeddings_and_output_like_json_plugin() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        CucumberJSONFormatter jsonFormatter = new CucumberJSONFormatter(expected);
+        runWithEmbeddingsAndOutput(jsonFormatter, jsonFormatter);
+
+        StringBuilder actual = new StringBuilder();
+        StreamingJSONFormatter streamingFormatter = new StreamingJSONFormatter(actual);
+        runWithEmbeddingsAndOutput(streamingFormatter, streamingFormatter);
+
+        assertJsonEquals(expected.toString(), actual.toString());
+        assertTrue(actual.toString(), actual.toString().contains("ZmFrZWRhdGE"));
+    }
+
+    @Test
+    public void writes_each_feature_before_the_run_is_done() throws Exception {
+        StringBuilder out = new StringBuilder();
+        StreamingJSONFormatter formatter = new StreamingJSONFormatter(out);
+        formatter.uri("some.feature");
+        formatter.feature(feature("first feature"));
+        formatter.scenario(scenario("some cukes"));
+        formatter.eof();
+
+        assertTrue(out.toString(), out.toString().contains("\"name\": \"first feature\""));
+        assertTrue(out.toString(), out.toString().contains("\"name\": \"some cukes\""));
+
+        formatter.done();
+        assertEquals(1, new JsonParser().parse(out.toString()).getAsJsonArray().size());
+    }
+
+    private void runWithEmbeddingsAndOutput(Formatter formatter, Reporter reporter) throws Exception {
+        formatter.uri("some.feature");
+        formatter.feature(feature("feature name"));
+        reporter.before(match("hook.before()"), new Result("passed", 1L, null));
+        formatter.scenario(scenario("some cukes"));
+        formatter.step(step("first step"));
+        formatter.step(step("second step"));
+        reporter.match(match("Steps.first()"));
+        reporter.embedding("image/png", "fakedata".getBytes("US-ASCII"));
+        reporter.write("some output");
+        reporter.result(new Result("passed", 2L, null));
+        reporter.match(match("Steps.second()"));
+        reporter.embedding("text/plain", "dodgy stack trace here".getBytes("US-ASCII"));
+        reporter.result(new Result("failed", 3L, "the stack trace"));
+        reporter.after(match("hook.after()"), new Result("passed", 4L, null));
+        formatter.eof();
+        formatter.done();
+        formatter.close();
+    }
+
+    private void assertJsonEquals(String expected, String actual) {
+        JsonParser parser = new JsonParser();
+        assertEquals(parser.parse(expected), parser.parse(actual));
+    }
+
+    private String read(File report) throws Exception {
+        return new Scanner(report, "UTF-8").useDelimiter("\\A").next();
+    }
+
+    private Feature feature(String name) {
+        return new Feature(Collections.<Comment>emptyList(), Collections.<Tag>emptyList(), "Feature", name, "", 1, name.replace(' ', '-'));
+    }
+
+    private Scenario scenario(String name) {
+        return new Scenario(Collections.<Comment>emptyList(), Collections.<Tag>emptyList(), "Scenario", name, "", 3, name.replace(' ', '-'));
+    }
+
+    private Step step(String name) {
+        return new Step(Collections.<Comment>emptyList(), "Given ", name, 4, Collections.<DataTableRow>emptyList(), (DocString) null);
+    }
+
+    private Match match(String location) {
+        return new Match(Collections.<Argument>emptyList(), location);
+    }
+}
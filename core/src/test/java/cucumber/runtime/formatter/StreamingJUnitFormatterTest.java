@@ -0,0 +1,237 @@
+package cucumber.runtime.formatter;
+
+import cucumber.runtime.Backend;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.RuntimeOptions;
+import cucumber.runtime.TestHelper;
+import cucumber.runtime.Utils;
+import cucumber.runtime.io.ClasspathResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.snippets.FunctionNameGenerator;
+import gherkin.formatter.model.Feature;
+import gherkin.formatter.model.Match;
+import gherkin.formatter.model.Result;
+import gherkin.formatter.model.Scenario;
+import gherkin.formatter.model.Step;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StreamingJUnitFormatterTest {
+
+    @Test
+    public void writes_same_report_as_junit_plugin() throws Exception {
+        assertSameReports(false, "cucumber/runtime/formatter/JUnitFormatterTest_1.feature");
+        assertSameReports(false, "cucumber/runtime/formatter/JUnitFormatterTest_2.feature");
+        assertSameReports(false, "cucumber/runtime/formatter/JUnitFormatterTest_3.feature");
+        assertSameReports(false,
+                "cucumber/runtime/formatter/JUnitFormatterTest_1.feature",
+                "cucumber/runtime/formatter/JUnitFormatterTest_2.feature",
+                "cucumber/runtime/formatter/JUnitFormatterTest_3.feature");
+    }
+
+    @Test
+    public void writes_same_strict_report_as_junit_plugin() throws Exception {
+        assertSameReports(true, "cucumber/runtime/formatter/JUnitFormatterTest_1.feature");
+    }
+
+    @Test
+    public void writes_same_report_as_junit_plugin_with_failing_hooks() throws Throwable {
+        CucumberFeature feature = TestHelper.feature("path/test.feature",
+                "Feature: feature name\n" +
+                        "  Background: background name\n" +
+                        "    Given first step\n" +
+                        "  Scenario: scenario name\n" +
+                        "    When second step\n" +
+                        "  Scenario: another scenario name\n" +
+                        "    Then third step\n");
+        Map<String, String> stepsToResult = new HashMap<String, String>();
+        stepsToResult.put("first step", "passed");
+        stepsToResult.put("second step", "failed");
+        stepsToResult.put("third step", "pending");
+        List<SimpleEntry<String, String>> hooks = new ArrayList<SimpleEntry<String, String>>();
+        hooks.add(TestHelper.hookEntry("before", "failed"));
+        hooks.add(TestHelper.hookEntry("after", "failed"));
+
+        File expected = File.createTempFile("cucumber-jvm-junit", ".xml");
+        JUnitFormatter junitFormatter = new JUnitFormatter(Utils.toURL(expected.getAbsolutePath()));
+        TestHelper.runFeatureWithFormatter(feature, stepsToResult, hooks, 1000000L, junitFormatter, junitFormatter);
+
+        File actual = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter streamingFormatter = createStreamingJUnitFormatter(actual);
+        TestHelper.runFeatureWithFormatter(feature, stepsToResult, hooks, 1000000L, streamingFormatter, streamingFormatter);
+
+        assertXmlEqual(read(expected), read(actual));
+    }
+
+    @Test
+    public void should_format_scenario_outlines_with_the_junit_runner() throws Exception {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = createStreamingJUnitFormatter(report);
+
+        // The JUnit runner will not call scenarioOutline() and examples() before executing the examples scenarios
+        formatter.uri("uri");
+        formatter.feature(feature("feature name"));
+        formatter.scenario(scenario("Scenario Outline", "outline name"));
+        formatter.step(step("keyword ", "step name \"arg1\""));
+        formatter.match(mock(Match.class));
+        formatter.result(new Result("passed", null, null));
+        formatter.scenario(scenario("Scenario Outline", "outline name"));
+        formatter.step(step("keyword ", "step name \"arg2\""));
+        formatter.match(mock(Match.class));
+        formatter.result(new Result("passed", null, null));
+        formatter.eof();
+        formatter.done();
+        formatter.close();
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" tests=\"2\" name=\"cucumber.runtime.formatter.JUnitFormatter\" skipped=\"0\" time=\"0\">\n" +
+                "    <testcase classname=\"feature name\" name=\"outline name\" time=\"0\">\n" +
+                "        <system-out><![CDATA[" +
+                "keyword step name \"arg1\"....................................................passed\n" +
+                "]]></system-out>\n" +
+                "    </testcase>\n" +
+                "    <testcase classname=\"feature name\" name=\"outline name 2\" time=\"0\">\n" +
+                "        <system-out><![CDATA[" +
+                "keyword step name \"arg2\"....................................................passed\n" +
+                "]]></system-out>\n" +
+                "    </testcase>\n" +
+                "</testsuite>\n";
+        assertXmlEqual(expected, read(report));
+    }
+
+    @Test
+    public void splits_cdata_around_cdata_terminators() throws Exception {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = createStreamingJUnitFormatter(report);
+
+        formatter.uri("uri");
+        formatter.feature(feature("feature name"));
+        formatter.scenario(scenario("Scenario", "scenario name"));
+        formatter.step(step("Given ", "a step with ]]> in it"));
+        formatter.match(mock(Match.class));
+        formatter.result(new Result("passed", null, null));
+        formatter.eof();
+        formatter.done();
+        formatter.close();
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" tests=\"1\" name=\"cucumber.runtime.formatter.JUnitFormatter\" skipped=\"0\" time=\"0\">\n" +
+                "    <testcase classname=\"feature name\" name=\"scenario name\" time=\"0\">\n" +
+                "        <system-out>" +
+                "Given a step with ]]&gt; in it.................................................passed\n" +
+                "</system-out>\n" +
+                "    </testcase>\n" +
+                "</testsuite>\n";
+        XMLUnit.setIgnoreDiffBetweenTextAndCDATA(true);
+        try {
+            assertXmlEqual(expected, read(report));
+        } finally {
+            XMLUnit.setIgnoreDiffBetweenTextAndCDATA(false);
+        }
+    }
+
+    @Test
+    public void should_add_dummy_testcase_if_no_scenarios_are_run() throws Throwable {
+        CucumberFeature feature = TestHelper.feature("path/test.feature",
+                "Feature: feature name\n");
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = createStreamingJUnitFormatter(report);
+        TestHelper.runFeatureWithFormatter(feature, Collections.<String, String>emptyMap(), Collections.<SimpleEntry<String, String>>emptyList(), 0L, formatter, formatter);
+
+        String expected = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+                "<testsuite failures=\"0\" name=\"cucumber.runtime.formatter.JUnitFormatter\" skipped=\"0\" time=\"0\">\n" +
+                "    <testcase classname=\"dummy\" name=\"dummy\">\n" +
+                "        <skipped message=\"No features found\" />\n" +
+                "    </testcase>\n" +
+                "</testsuite>\n";
+        assertXmlEqual(expected, read(report));
+    }
+
+    @Test
+    public void closes_and_deletes_the_testcases_file_when_closed_without_being_done() throws Exception {
+        File report = File.createTempFile("cucumber-jvm-junit", ".xml");
+        StreamingJUnitFormatter formatter = createStreamingJUnitFormatter(report);
+        File testCasesFile = (File) Whitebox.getInternalState(formatter, "testCasesFile");
+
+        formatter.close();
+
+        assertFalse(testCasesFile.exists());
+    }
+
+    private void assertSameReports(boolean strict, String... featurePaths) throws Exception {
+        File expected = File.createTempFile("cucumber-jvm-junit", ".xml");
+        File actual = File.createTempFile("cucumber-jvm-junit", ".xml");
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        List<String> args = new ArrayList<String>();
+        if (strict) {
+            args.add("--strict");
+        }
+        args.add("--plugin");
+        args.add("junit:" + expected.getAbsolutePath());
+        args.add("--plugin");
+        args.add("junit-stream:" + actual.getAbsolutePath());
+        args.addAll(asList(featurePaths));
+
+        Backend backend = mock(Backend.class);
+        when(backend.getSnippet(any(Step.class), any(FunctionNameGenerator.class))).thenReturn("TEST SNIPPET");
+        new Runtime(new ClasspathResourceLoader(classLoader), classLoader, asList(backend), new RuntimeOptions(args)).run();
+
+        assertXmlEqual(read(expected), read(actual));
+    }
+
+    private void assertXmlEqual(String expected, String actual) throws SAXException, IOException {
+        XMLUnit.setIgnoreWhitespace(true);
+        Diff diff = new Diff(expected, actual);
+        assertTrue("XML files are similar " + diff + "\nFormatterOutput = " + actual, diff.identical());
+    }
+
+    private String read(File report) throws IOException {
+        return new Scanner(new FileInputStream(report), "UTF-8").useDelimiter("\\A").next();
+    }
+
+    private StreamingJUnitFormatter createStreamingJUnitFormatter(File report) throws IOException {
+        return new StreamingJUnitFormatter(Utils.toURL(report.getAbsolutePath()));
+    }
+
+    private Feature feature(String featureName) {
+        Feature feature = mock(Feature.class);
+        when(feature.getName()).thenReturn(featureName);
+        return feature;
+    }
+
+    private Scenario scenario(String keyword, String scenarioName) {
+        Scenario scenario = mock(Scenario.class);
+        when(scenario.getName()).thenReturn(scenarioName);
+        when(scenario.getKeyword()).thenReturn(keyword);
+        return scenario;
+    }
+
+    private Step step(String keyword, String stepName) {
+        Step step = mock(Step.class);
+        when(step.getKeyword()).thenReturn(keyword);
+        when(step.getName()).thenReturn(stepName);
+        return step;
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Set;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 public class CucumberExamplesTest {
     private static final List<Comment> COMMENTS = emptyList();
@@ -49,4 +50,23 @@ public class CucumberExamplesTest {
         assertEquals("I have 5 cukes in my belly", step.getName());
     }
 
+    @Test
+    public void creates_example_scenarios_when_they_are_read() {
+        CucumberFeature cucumberFeature = new CucumberFeature(new Feature(COMMENTS, FEATURE_TAGS, "Feature", "", "", 2, "fid"), "f.feature");
+        ScenarioOutline so = new ScenarioOutline(COMMENTS, SO_TAGS, "Scenario Outline", "", "", 4, "");
+        CucumberScenarioOutline cso = new CucumberScenarioOutline(cucumberFeature, null, so);
+        cso.step(new Step(COMMENTS, "Given ", "I have <n> cukes", 5, null, null));
+        Examples examples = new Examples(COMMENTS, E_TAGS, "Examples", "", "", 6, "", asList(
+                new ExamplesTableRow(COMMENTS, asList("n"), 7, ""),
+                new ExamplesTableRow(COMMENTS, asList("1"), 8, ""),
+                new ExamplesTableRow(COMMENTS, asList("2"), 9, "")
+        ));
+
+        CucumberExamples cucumberExamples = new CucumberExamples(cso, examples);
+        List<CucumberScenario> exampleScenarios = cucumberExamples.createExampleScenarios();
+
+        assertEquals(2, cucumberExamples.getExampleCount());
+        assertEquals("I have 2 cukes", cucumberExamples.createExampleScenario(1).getSteps().get(0).getName());
+        assertNotSame(exampleScenarios.get(0), exampleScenarios.get(0));
+    }
 }
@@ -1,5 +1,6 @@
 package cucumber.runtime.model;
 
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.io.Resource;
 import cucumber.runtime.io.ResourceLoader;
 import org.junit.Test;
@@ -19,6 +20,8 @@ import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CucumberFeatureTest {
@@ -207,6 +210,44 @@ public class CucumberFeatureTest {
         }
     }
 
+    @Test
+    public void loads_many_features_in_uri_order_and_skips_duplicates() throws Exception {
+        List<Resource> resources = new ArrayList<Resource>();
+        for (int i = 20; i > 0; i--) {
+            resources.add(mockResource(String.format("features/%02d.feature", i), "Feature: feature " + i + "\n"));
+        }
+        Resource copy = mockResource("features/copy.feature", "Feature: feature 7\n");
+        resources.add(copy);
+        ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        when(resourceLoader.resources("features", ".feature")).thenReturn(resources);
+
+        List<CucumberFeature> features = CucumberFeature.load(resourceLoader, asList("features"), emptyList());
+
+        assertEquals(20, features.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(String.format("features/%02d.feature", i + 1), features.get(i).getPath());
+        }
+        // Duplicates are read, but not parsed
+        verify(copy, never()).getPath();
+    }
+
+    @Test
+    public void reports_the_first_feature_that_fails_to_parse() throws Exception {
+        List<Resource> resources = new ArrayList<Resource>();
+        resources.add(mockResource("features/a.feature", "Feature: a\n"));
+        resources.add(mockResource("features/b.feature", "Not gherkin\n"));
+        resources.add(mockResource("features/c.feature", "Not gherkin either\n"));
+        ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        when(resourceLoader.resources("features", ".feature")).thenReturn(resources);
+
+        try {
+            CucumberFeature.load(resourceLoader, asList("features"), emptyList());
+            fail("CucumberException was expected");
+        } catch (CucumberException exception) {
+            assertEquals("Error parsing feature file features/b.feature", exception.getMessage());
+        }
+    }
+
     private ResourceLoader mockFeatureFileResource(String featurePath, String feature)
             throws IOException, UnsupportedEncodingException {
         ResourceLoader resourceLoader = mock(ResourceLoader.class);
@@ -221,12 +262,17 @@ public class CucumberFeatureTest {
 
     private void mockFileResource(ResourceLoader resourceLoader, String featurePath, String extension, String feature)
             throws IOException, UnsupportedEncodingException {
-        Resource resource = mock(Resource.class);
-        when(resource.getPath()).thenReturn(featurePath);
-        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(feature.getBytes("UTF-8")));
+        Resource resource = mockResource(featurePath, feature);
         when(resourceLoader.resources(featurePath, extension)).thenReturn(asList(resource));
     }
 
+    private Resource mockResource(String path, String source) throws IOException {
+        Resource resource = mock(Resource.class);
+        when(resource.getPath()).thenReturn(path);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(source.getBytes("UTF-8")));
+        return resource;
+    }
+
     private void mockFeaturePathToNotExist(ResourceLoader resourceLoader, String featurePath) {
         if (featurePath.startsWith("classpath")) {
             when(resourceLoader.resources(featurePath, ".feature")).thenReturn(new ArrayList<Resource>());
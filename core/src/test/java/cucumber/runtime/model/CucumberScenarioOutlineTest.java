@@ -24,7 +24,7 @@ public class CucumberScenarioOutlineTest {
     @Test
     public void replaces_tokens_in_step_names() {
         Step outlineStep = new Step(C, null, "I have <n> cukes", 0, null, null);
-        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
         assertEquals("I have 10 cukes", exampleStep.getName());
     }
 
@@ -32,7 +32,7 @@ public class CucumberScenarioOutlineTest {
     public void replaces_tokens_in_doc_strings() {
         Step outlineStep = new Step(C, null, "I have <n> cukes", 0, null, new DocString(null, "I have <n> cukes", 1));
 
-        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
         assertEquals("I have 10 cukes", exampleStep.getDocString().getValue());
     }
 
@@ -41,22 +41,40 @@ public class CucumberScenarioOutlineTest {
         List<DataTableRow> rows = asList(new DataTableRow(C, asList("I", "have <n> cukes"), 1));
         Step outlineStep = new Step(C, null, "I have <n> cukes", 0, rows, null);
 
-        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("n"), 1, ""), new ExamplesTableRow(C, asList("10"), 1, ""));
         assertEquals(asList("I", "have 10 cukes"), exampleStep.getRows().get(0).getCells());
     }  
 
+    @Test
+    public void replaces_repeated_and_adjacent_tokens() {
+        Step outlineStep = new Step(C, null, "<a><b> and <a> but not <c> or <a", 0, null, null);
+
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("a", "b"), 1, ""), new ExamplesTableRow(C, asList("1", "2"), 1, ""));
+
+        assertEquals("12 and 1 but not <c> or <a", exampleStep.getName());
+    }
+
+    @Test
+    public void does_not_replace_tokens_in_example_values() {
+        Step outlineStep = new Step(C, null, "I have <a> and <b>", 0, null, null);
+
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("a", "b"), 1, ""), new ExamplesTableRow(C, asList("<b>", "2"), 1, ""));
+
+        assertEquals("I have <b> and 2", exampleStep.getName());
+    }
+
     @Test(expected=CucumberException.class)
     public void does_not_allow_the_step_to_be_empty_after_replacement() {
         Step outlineStep = new Step(C, null, "<step>", 0, null, null);
 
-        CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("step"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
+        createExampleStep(outlineStep, new ExamplesTableRow(C, asList("step"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
     }
 
     @Test
     public void allows_doc_strings_to_be_empty_after_replacement() {
         Step outlineStep = new Step(C, null, "Some step", 0, null, new DocString(null, "<doc string>", 1));
 
-        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("doc string"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("doc string"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
 
         assertEquals("", exampleStep.getDocString().getValue());
     }
@@ -66,7 +84,7 @@ public class CucumberScenarioOutlineTest {
         List<DataTableRow> rows = asList(new DataTableRow(C, asList("<entry>"), 1));
         Step outlineStep = new Step(C, null, "Some step", 0, rows, null);
 
-        Step exampleStep = CucumberScenarioOutline.createExampleStep(outlineStep, new ExamplesTableRow(C, asList("entry"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
+        Step exampleStep = createExampleStep(outlineStep, new ExamplesTableRow(C, asList("entry"), 1, ""), new ExamplesTableRow(C, asList(""), 1, ""));
 
         assertEquals(asList(""), exampleStep.getRows().get(0).getCells());
     }
@@ -102,8 +120,16 @@ public class CucumberScenarioOutlineTest {
 
         // ... then the Cukes implementation
         CucumberScenarioOutline cukeOutline = new CucumberScenarioOutline(null, null, outline);
-        CucumberScenario exampleScenario = cukeOutline.createExampleScenario(new ExamplesTableRow(C, asList("LOCATION_NAME"), 1, ""), new ExamplesTableRow(C, asList("London"), 1, ""), T);
+        CucumberScenario exampleScenario = cukeOutline.compileExamples(new ExamplesTableRow(C, asList("LOCATION_NAME"), 1, ""))
+                .createExampleScenario(new ExamplesTableRow(C, asList("London"), 1, ""), T);
 
         assertEquals("Time offset check for London", exampleScenario.getGherkinModel().getName());
-    }  
+    }
+
+    private Step createExampleStep(Step outlineStep, ExamplesTableRow header, ExamplesTableRow example) {
+        ScenarioOutline outline = new ScenarioOutline(C, T, "Scenario Outline", "", "", 1, "");
+        CucumberScenarioOutline cukeOutline = new CucumberScenarioOutline(null, null, outline);
+        cukeOutline.step(outlineStep);
+        return cukeOutline.compileExamples(header).createExampleScenario(example, T).getSteps().get(0);
+    }
 }
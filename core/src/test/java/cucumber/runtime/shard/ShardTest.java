@@ -0,0 +1,142 @@
+package cucumber.runtime.shard;
+
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.model.CucumberExamples;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.CucumberScenarioOutline;
+import cucumber.runtime.model.CucumberTagStatement;
+import gherkin.formatter.model.ExamplesTableRow;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static cucumber.runtime.TestHelper.feature;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardTest {
+    private static final String FEATURE = "" +
+            "Feature: sharded\n" +
+            "  Background:\n" +
+            "    Given background\n" +
+            "  Scenario: first\n" +
+            "    Given step\n" +
+            "  Scenario: second\n" +
+            "    Given step\n" +
+            "  Scenario Outline: outline\n" +
+            "    Given <x>\n" +
+            "    Examples:\n" +
+            "      | x |\n" +
+            "      | 1 |\n" +
+            "      | 2 |\n" +
+            "      | 3 |\n";
+
+    @Test
+    public void runs_every_scenario_and_example_row_on_exactly_one_shard() throws IOException {
+        List<CucumberFeature> features = asList(feature("path/sharded.feature", FEATURE));
+        List<String> all = ids(features);
+
+        for (String strategy : asList("hash", "round-robin")) {
+            List<String> union = new ArrayList<String>();
+            for (int index = 1; index <= 3; index++) {
+                union.addAll(ids(Shard.parse(index + "/3", strategy).select(features)));
+            }
+            assertEquals(all.size(), union.size());
+            assertTrue(union.containsAll(all));
+        }
+    }
+
+    @Test
+    public void splits_example_rows_of_an_outline() throws IOException {
+        List<CucumberFeature> features = asList(feature("path/sharded.feature", FEATURE));
+
+        List<CucumberFeature> selected = Shard.parse("2/2", "round-robin").select(features);
+
+        assertEquals(asList(
+                "sharded;second",
+                "sharded;outline;;3"
+        ), ids(selected));
+    }
+
+    @Test
+    public void leaves_out_features_without_scenarios_on_the_shard() throws IOException {
+        List<CucumberFeature> features = asList(
+                feature("path/a.feature", "Feature: a\n  Scenario: a\n    Given step\n"),
+                feature("path/b.feature", "Feature: b\n  Scenario: b\n    Given step\n"));
+
+        List<CucumberFeature> selected = Shard.parse("2/2", "round-robin").select(features);
+
+        assertEquals(1, selected.size());
+        assertEquals("path/b.feature", selected.get(0).getPath());
+    }
+
+    @Test
+    public void balances_shards_by_previous_durations() {
+        Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a", 10L);
+        durations.put("b", 6L);
+        durations.put("c", 5L);
+        durations.put("d", 4L);
+
+        int[] shards = new DurationShardingStrategy(durations).assign(asList("a", "b", "c", "d", "unknown"), 2);
+
+        assertArrayEquals(new int[]{0, 1, 0, 1, 1}, shards);
+    }
+
+    @Test
+    public void balances_shards_evenly_without_previous_durations() {
+        DurationShardingStrategy strategy = new DurationShardingStrategy(new File("target/no/such/durations.json"));
+
+        int[] shards = strategy.assign(asList("a", "b", "c", "d"), 2);
+
+        assertArrayEquals(new int[]{0, 1, 0, 1}, shards);
+    }
+
+    @Test
+    public void fails_on_invalid_shard() {
+        for (String shard : asList("0/2", "3/2", "1", "one/two")) {
+            try {
+                Shard.parse(shard, null);
+                fail(shard);
+            } catch (CucumberException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void fails_on_unknown_strategy() {
+        try {
+            Shard.parse("1/2", "no.such.Strategy");
+            fail();
+        } catch (CucumberException e) {
+            assertEquals("Unknown sharding strategy: no.such.Strategy", e.getMessage());
+        }
+    }
+
+    private List<String> ids(List<CucumberFeature> features) {
+        List<String> ids = new ArrayList<String>();
+        for (CucumberFeature feature : features) {
+            for (CucumberTagStatement element : feature.getFeatureElements()) {
+                if (element instanceof CucumberScenarioOutline) {
+                    for (CucumberExamples examples : ((CucumberScenarioOutline) element).getCucumberExamplesList()) {
+                        List<ExamplesTableRow> rows = examples.getExamples().getRows();
+                        for (ExamplesTableRow row : rows.subList(1, rows.size())) {
+                            ids.add(row.getId());
+                        }
+                    }
+                } else {
+                    ids.add(element.getGherkinModel().getId());
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -84,6 +84,21 @@ public class DataTableTest {
         map.remove("hundred");
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void asLists_is_immutable() {
+        List<List<Long>> lists = createTable(asList("1", "2"), asList("3", "4")).asLists(Long.class);
+        assertEquals(asList(asList(1L, 2L), asList(3L, 4L)), lists);
+        lists.get(1).set(0, 5L);
+    }
+
+    @Test
+    public void raw_equals_lists_of_the_same_cells() {
+        List<List<String>> cells = asList(asList("one", "four", "seven"), asList("4444", "55555", "666666"));
+        assertEquals(cells, createSimpleTable().raw());
+        assertEquals(createSimpleTable().raw(), cells);
+        assertEquals(cells.hashCode(), createSimpleTable().raw().hashCode());
+    }
+
     @Test
     public void two_identical_tables_are_considered_equal() {
         assertEquals(createSimpleTable(), createSimpleTable());
@@ -0,0 +1,71 @@
+package cucumber.runtime.table;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class LinearSpaceDiffTest {
+    @Test
+    public void matches_common_prefix_and_suffix() {
+        LinearSpaceDiff diff = new LinearSpaceDiff(new int[]{1, 2, 3, 4}, new int[]{1, 5, 4});
+
+        assertEquals(Arrays.toString(new boolean[]{true, false, false, true}), Arrays.toString(diff.getMatchedInA()));
+        assertEquals(Arrays.toString(new boolean[]{true, false, true}), Arrays.toString(diff.getMatchedInB()));
+    }
+
+    @Test
+    public void matches_nothing_when_there_is_nothing_in_common() {
+        LinearSpaceDiff diff = new LinearSpaceDiff(new int[]{1, 2}, new int[]{3});
+
+        assertEquals(Arrays.toString(new boolean[]{false, false}), Arrays.toString(diff.getMatchedInA()));
+        assertEquals(Arrays.toString(new boolean[]{false}), Arrays.toString(diff.getMatchedInB()));
+    }
+
+    @Test
+    public void finds_a_longest_common_subsequence() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            int[] a = randomIds(random, random.nextInt(30), 1 + random.nextInt(6));
+            int[] b = randomIds(random, random.nextInt(30), 1 + random.nextInt(6));
+
+            LinearSpaceDiff diff = new LinearSpaceDiff(a, b);
+
+            List<Integer> matchedA = matched(a, diff.getMatchedInA());
+            assertEquals(matchedA, matched(b, diff.getMatchedInB()));
+            assertEquals(lcsLength(a, b), matchedA.size());
+        }
+    }
+
+    private int[] randomIds(Random random, int length, int distinct) {
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = random.nextInt(distinct);
+        }
+        return ids;
+    }
+
+    private List<Integer> matched(int[] ids, boolean[] matched) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = 0; i < ids.length; i++) {
+            if (matched[i]) {
+                result.add(ids[i]);
+            }
+        }
+        return result;
+    }
+
+    private int lcsLength(int[] a, int[] b) {
+        int[][] lengths = new int[a.length + 1][b.length + 1];
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.length; j++) {
+                lengths[i][j] = a[i - 1] == b[j - 1] ? lengths[i - 1][j - 1] + 1 : Math.max(lengths[i - 1][j], lengths[i][j - 1]);
+            }
+        }
+        return lengths[a.length][b.length];
+    }
+}
@@ -1,6 +1,8 @@
 package cucumber.runtime.table;
 
 import cucumber.api.DataTable;
+import gherkin.formatter.model.DataTableRow;
+import gherkin.formatter.model.Row;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -9,6 +11,7 @@ import java.util.List;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 public class TableDifferTest {
 
@@ -424,4 +427,27 @@ public class TableDifferTest {
             throw e;
         }
     }
+
+    @Test
+    public void unordered_diff_of_large_tables_reports_only_the_different_rows() {
+        StringBuilder source = new StringBuilder();
+        StringBuilder reversed = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            source.append("| row | ").append(i).append(" |\n");
+            reversed.append("| row | ").append(10000 - i).append(" |\n");
+        }
+        reversed.append("| extra | 0 |\n");
+        try {
+            TableParser.parse(source.toString(), null).unorderedDiff(TableParser.parse(reversed.toString(), null));
+            fail();
+        } catch (TableDiffException e) {
+            List<String> changed = new ArrayList<String>();
+            for (DataTableRow row : e.getDiff().getGherkinRows()) {
+                if (row.getDiffType() != Row.DiffType.NONE) {
+                    changed.add(row.getDiffType() + " " + row.getCells());
+                }
+            }
+            assertEquals(asList("DELETE [row, 0]", "INSERT [row, 10000]", "INSERT [extra, 0]"), changed);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package cucumber.runtime.xstream;
+
+import cucumber.deps.com.thoughtworks.xstream.annotations.XStreamConverter;
+import cucumber.deps.com.thoughtworks.xstream.converters.javabean.JavaBeanConverter;
+import gherkin.util.Mapper;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ComplexTypeBinderTest {
+    private static final Mapper<String, String> LOWER_CASE = new Mapper<String, String>() {
+        @Override
+        public String map(String cell) {
+            return cell.toLowerCase();
+        }
+    };
+    private final LocalizedXStreams.LocalizedXStream xStream = new LocalizedXStreams(Thread.currentThread().getContextClassLoader()).get(Locale.US);
+
+    @Test
+    public void binds_fields_of_the_type_and_its_superclasses() {
+        ComplexTypeBinder binder = xStream.getComplexTypeBinder(Child.class, asList("Name", "Age", "Colour"), LOWER_CASE);
+
+        List<Child> children = binder.bind(asList(asList("Alice", "7", "RED"), asList("Bob", "", "green")));
+
+        assertEquals("Alice", children.get(0).name);
+        assertEquals(Integer.valueOf(7), children.get(0).age);
+        assertEquals(Colour.RED, children.get(0).colour);
+        assertNull(children.get(1).age);
+        assertEquals(Colour.GREEN, children.get(1).colour);
+    }
+
+    @Test
+    public void compiles_a_binder_once_per_type_and_header() {
+        ComplexTypeBinder binder = xStream.getComplexTypeBinder(Child.class, asList("Name", "Age"), LOWER_CASE);
+
+        assertSame(binder, xStream.getComplexTypeBinder(Child.class, asList("Name", "Age"), LOWER_CASE));
+    }
+
+    @Test
+    public void leaves_unknown_fields_and_annotated_types_to_xstream() {
+        assertNull(xStream.getComplexTypeBinder(Child.class, asList("Name", "Nickname"), LOWER_CASE));
+        assertNull(xStream.getComplexTypeBinder(Child.class, asList("Name", "Name"), LOWER_CASE));
+        assertNull(xStream.getComplexTypeBinder(Bean.class, asList("Name"), LOWER_CASE));
+    }
+
+    public enum Colour {
+        RED, GREEN
+    }
+
+    public static class Parent {
+        String name;
+    }
+
+    public static class Child extends Parent {
+        private Integer age;
+        private Colour colour;
+    }
+
+    @XStreamConverter(JavaBeanConverter.class)
+    public static class Bean {
+        private String name;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
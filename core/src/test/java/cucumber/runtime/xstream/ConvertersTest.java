@@ -6,7 +6,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static org.junit.Assert.assertEquals;
@@ -71,6 +78,37 @@ public class ConvertersTest {
         assertEquals("X", ((MyOtherClass) c.fromString("X")).o);
     }
 
+    @Test
+    public void shouldConvertDatesWithTheFormatOfEachCallOnSeveralThreads() throws Exception {
+        final LocalizedXStreams.LocalizedXStream xStream = new LocalizedXStreams(Thread.currentThread().getContextClassLoader()).get(Locale.US);
+        final SingleValueConverter converter = xStream.getSingleValueConverter(Date.class);
+        final String[][] valuesAndFormats = {{"2011-11-29", "yyyy-MM-dd"}, {"29.11.2011", "dd.MM.yyyy"}, {"11/29/2011", null}};
+        final Date expected = (Date) converter.fromString("11/29/2011");
+
+        ExecutorService executor = Executors.newFixedThreadPool(valuesAndFormats.length);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (final String[] valueAndFormat : valuesAndFormats) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int i = 0; i < 500; i++) {
+                            if (!expected.equals(xStream.fromString(converter, valueAndFormat[0], valueAndFormat[1]))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     public static class MyClass {
         public final String s;
 
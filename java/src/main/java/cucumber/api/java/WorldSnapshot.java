@@ -0,0 +1,26 @@
+package cucumber.api.java;
+
+/**
+ * Implemented by glue classes that hold state set up by a Background, so that features tagged
+ * {@code @background-once} can run the Background only for their first scenario. The following scenarios get new
+ * glue instances, and those implementing this interface are given the state of the first scenario's instances.
+ * <p/>
+ * Glue classes that don't implement this start each scenario afresh, as usual.
+ *
+ * @param <T> the type of the state
+ */
+public interface WorldSnapshot<T> {
+    /**
+     * @return the state after the Background ran. It must not change when this instance changes later.
+     */
+    T snapshot();
+
+    /**
+     * Every following scenario is given the same snapshot, so this must copy any mutable state it keeps, rather
+     * than keep the snapshot itself. Otherwise a scenario that changes that state changes it for the scenarios
+     * after it too.
+     *
+     * @param snapshot the state {@link #snapshot()} returned for the first scenario
+     */
+    void restore(T snapshot);
+}
@@ -0,0 +1,288 @@
+package cucumber.runtime.java;
+
+import cucumber.runtime.CucumberException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * The glue classes listed in the {@value #RESOURCE} files written by {@link GlueIndexProcessor}.
+ * <p/>
+ * Each index only lists the classes of the classpath root it was found in. The index is only used for a package when
+ * every root that has classes in that package has an index, so classes from other jars and directories are never
+ * left out. The roots are listed from the class path of the class loaders, rather than found by looking up the
+ * package as a resource, which misses jars without directory entries. When the roots can't all be listed, or a root
+ * can't be searched for the package, the package is scanned.
+ */
+class GlueIndex {
+    static final String RESOURCE = "META-INF/cucumber/glue.idx";
+    /**
+     * For class finders that don't load from a class loader. Every package is scanned.
+     */
+    static final GlueIndex NONE = new GlueIndex(null, Collections.<String>emptySet(), Collections.<String>emptySet());
+
+    private final ClassLoader classLoader;
+    private final Set<String> classNames;
+    private final Set<String> indexedRoots;
+    private List<URL> classpathRoots;
+    private boolean classpathRootsListed;
+
+    /**
+     * @param classLoader  where to load the classes from
+     * @param classNames   the indexed classes
+     * @param indexedRoots the classpath roots the classes were indexed in, as returned by {@link #root(URL, String)}
+     */
+    GlueIndex(ClassLoader classLoader, Set<String> classNames, Set<String> indexedRoots) {
+        this.classLoader = classLoader;
+        this.classNames = classNames;
+        this.indexedRoots = indexedRoots;
+    }
+
+    /**
+     * @param classLoader where to look for index files
+     * @return the classes listed in all the index files on the classpath
+     */
+    static GlueIndex load(ClassLoader classLoader) {
+        Set<String> classNames = new LinkedHashSet<String>();
+        Set<String> indexedRoots = new HashSet<String>();
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(RESOURCE);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                read(index, classNames);
+                indexedRoots.add(root(index, RESOURCE));
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read " + RESOURCE, e);
+        }
+        return new GlueIndex(classLoader, classNames, indexedRoots);
+    }
+
+    /**
+     * @param url  a resource
+     * @param path the path of the resource, relative to the classpath root it is in
+     * @return the classpath root the resource is in
+     */
+    static String root(URL url, String path) {
+        String external = url.toExternalForm();
+        if (external.endsWith("/")) {
+            external = external.substring(0, external.length() - 1);
+        }
+        if (!external.endsWith(path)) {
+            // Never matches an index, so the package is scanned
+            return external;
+        }
+        return external.substring(0, external.length() - path.length());
+    }
+
+    private static void read(URL index, Set<String> classNames) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0) {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @param packageName a package, or the empty string for all packages
+     * @return the indexed classes in the package and its sub packages, or null if some of them may not be indexed, in
+     * which case they have to be scanned instead.
+     */
+    Collection<Class<?>> getClasses(String packageName) {
+        while (packageName.endsWith(".")) {
+            packageName = packageName.substring(0, packageName.length() - 1);
+        }
+        if (indexedRoots.isEmpty() || !isIndexedInEveryRoot(packageName)) {
+            return null;
+        }
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (String className : classNames) {
+            if (className.startsWith(packageName + ".")) {
+                Class<?> clazz = loadClass(className);
+                if (clazz != null) {
+                    classes.add(clazz);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private boolean isIndexedInEveryRoot(String packageName) {
+        if (packageName.length() == 0) {
+            // Every class on the classpath would have to be indexed
+            return false;
+        }
+        if (!classpathRootsListed) {
+            classpathRoots = classpathRoots(classLoader);
+            classpathRootsListed = true;
+        }
+        List<URL> roots = classpathRoots;
+        if (roots == null) {
+            return false;
+        }
+        String packagePath = packageName.replace('.', '/');
+        boolean found = false;
+        for (URL root : roots) {
+            if (indexedRoots.contains(rootName(root))) {
+                found = true;
+            } else if (mayContain(root, packagePath)) {
+                return false;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the jars and directories classes are loaded from, or null if they can't all be listed
+     */
+    private static List<URL> classpathRoots(ClassLoader classLoader) {
+        Set<URL> roots = new LinkedHashSet<URL>();
+        ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader == systemClassLoader) {
+                // Its parents only load the classes of the JDK
+                for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                    if (entry.length() > 0) {
+                        addRoot(roots, fileUrl(new File(entry)));
+                    }
+                }
+                return new ArrayList<URL>(roots);
+            } else if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    addRoot(roots, url);
+                }
+            } else {
+                return null;
+            }
+        }
+        return new ArrayList<URL>(roots);
+    }
+
+    private static void addRoot(Set<URL> roots, URL root) {
+        if (root == null || !roots.add(root)) {
+            return;
+        }
+        // Jars can add other jars to the classpath with the Class-Path attribute of their manifest
+        File jar = file(root);
+        if (jar != null && jar.isFile()) {
+            try {
+                JarFile jarFile = new JarFile(jar);
+                try {
+                    Manifest manifest = jarFile.getManifest();
+                    String classPath = manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+                    if (classPath != null) {
+                        for (String entry : classPath.trim().split("\\s+")) {
+                            addRoot(roots, new URL(root, entry));
+                        }
+                    }
+                } finally {
+                    jarFile.close();
+                }
+            } catch (IOException ignore) {
+                // mayContain treats the jar as unreadable, so the package is scanned
+            }
+        }
+    }
+
+    /**
+     * @return whether the root may have classes in the package, which it does unless that can be ruled out
+     */
+    private static boolean mayContain(URL root, String packagePath) {
+        if (!"file".equals(root.getProtocol())) {
+            return true;
+        }
+        File file = file(root);
+        if (file == null) {
+            return true;
+        }
+        if (file.isDirectory()) {
+            return new File(file, packagePath).exists();
+        }
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            JarFile jarFile = new JarFile(file);
+            try {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    if (entries.nextElement().getName().startsWith(packagePath + "/")) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                jarFile.close();
+            }
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return the root as {@link #root(URL, String)} names it for the resources in it
+     */
+    private static String rootName(URL root) {
+        File file = file(root);
+        if (file != null && file.isFile()) {
+            return "jar:" + root.toExternalForm() + "!/";
+        }
+        String external = root.toExternalForm();
+        return external.endsWith("/") ? external : external + "/";
+    }
+
+    private static File file(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static URL fileUrl(File file) {
+        try {
+            return file.toURI().toURL();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return classLoader.loadClass(className);
+        } catch (ClassNotFoundException ignore) {
+            return null;
+        } catch (NoClassDefFoundError ignore) {
+            return null;
+        }
+    }
+}
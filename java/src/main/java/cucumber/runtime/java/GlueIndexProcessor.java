@@ -0,0 +1,189 @@
+package cucumber.runtime.java;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a {@value GlueIndex#RESOURCE} file listing the classes that declare step definitions or hooks, or
+ * extend a class that does. When the index is on the classpath, {@link JavaBackend} loads glue from the listed
+ * classes instead of scanning every class under the glue paths.
+ * <p/>
+ * The processor isn't registered as a service, so it has to be enabled explicitly, for example:
+ * <pre>{@code
+ * <plugin>
+ *     <artifactId>maven-compiler-plugin</artifactId>
+ *     <configuration>
+ *         <annotationProcessors>
+ *             <annotationProcessor>cucumber.runtime.java.GlueIndexProcessor</annotationProcessor>
+ *         </annotationProcessors>
+ *     </configuration>
+ * </plugin>
+ * }</pre>
+ * An incremental build only compiles some of the classes, so the index it writes keeps the classes of the previous
+ * index that weren't compiled again and are still glue.
+ */
+@SupportedAnnotationTypes("*")
+public class GlueIndexProcessor extends AbstractProcessor {
+    private static final String STEP_DEF_ANNOTATION = StepDefAnnotation.class.getName();
+
+    private final Set<String> glueClassNames = new TreeSet<String>();
+    private final Set<String> compiledClassNames = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            boolean previousIndexFound = addPreviouslyIndexedClasses();
+            if (previousIndexFound || !glueClassNames.isEmpty()) {
+                writeIndex();
+            }
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                addGlueClasses(element);
+            }
+        }
+        return false;
+    }
+
+    private void addGlueClasses(Element element) {
+        if (!element.getKind().isClass()) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        compiledClassNames.add(binaryName);
+        if (isOrExtendsGlueClass(type)) {
+            glueClassNames.add(binaryName);
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            addGlueClasses(enclosed);
+        }
+    }
+
+    private boolean isOrExtendsGlueClass(TypeElement type) {
+        while (type != null) {
+            if (declaresGlueMethods(type)) {
+                return true;
+            }
+            type = superclass(type);
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private boolean declaresGlueMethods(TypeElement type) {
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD) {
+                for (AnnotationMirror annotation : enclosed.getAnnotationMirrors()) {
+                    if (isGlueAnnotation((TypeElement) annotation.getAnnotationType().asElement())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isGlueAnnotation(TypeElement annotationType) {
+        String name = annotationType.getQualifiedName().toString();
+        if (name.equals(Before.class.getName()) || name.equals(After.class.getName())) {
+            return true;
+        }
+        for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+            TypeElement metaAnnotationType = (TypeElement) metaAnnotation.getAnnotationType().asElement();
+            if (metaAnnotationType.getQualifiedName().contentEquals(STEP_DEF_ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the classes of the index written by an earlier build that weren't compiled this time, and that can still
+     * be found and are still glue.
+     *
+     * @return whether there was an earlier index
+     */
+    private boolean addPreviouslyIndexedClasses() {
+        BufferedReader reader;
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", GlueIndex.RESOURCE);
+            reader = new BufferedReader(new InputStreamReader(index.openInputStream(), "UTF-8"));
+        } catch (IOException e) {
+            // No earlier index, as after a clean build
+            return false;
+        }
+        try {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = line.trim();
+                    if (className.length() > 0 && !compiledClassNames.contains(className) && isGlueClass(className)) {
+                        glueClassNames.add(className);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Couldn't read " + GlueIndex.RESOURCE + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    private boolean isGlueClass(String binaryName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        return type != null && isOrExtendsGlueClass(type);
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", GlueIndex.RESOURCE);
+            Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                for (String glueClassName : glueClassNames) {
+                    writer.write(glueClassName);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Couldn't write " + GlueIndex.RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
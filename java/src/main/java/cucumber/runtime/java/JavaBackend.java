@@ -2,6 +2,7 @@ package cucumber.runtime.java;
 
 import cucumber.api.java.After;
 import cucumber.api.java.Before;
+import cucumber.api.java.WorldSnapshot;
 import cucumber.runtime.Backend;
 import cucumber.runtime.ClassFinder;
 import cucumber.runtime.CucumberException;
@@ -9,6 +10,7 @@ import cucumber.runtime.DuplicateStepDefinitionException;
 import cucumber.runtime.Glue;
 import cucumber.runtime.NoInstancesException;
 import cucumber.runtime.Reflections;
+import cucumber.runtime.SnapshotBackend;
 import cucumber.runtime.TooManyInstancesException;
 import cucumber.runtime.UnreportedStepExecutor;
 import cucumber.runtime.Utils;
@@ -21,15 +23,20 @@ import gherkin.formatter.model.Step;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
-public class JavaBackend implements Backend {
+public class JavaBackend implements Backend, SnapshotBackend {
     private SnippetGenerator snippetGenerator = new SnippetGenerator(new JavaSnippet());
     private final ObjectFactory objectFactory;
     private final ClassFinder classFinder;
 
     private final MethodScanner methodScanner;
+    private final Set<Class<?>> snapshotClasses = new LinkedHashSet<Class<?>>();
     private Glue glue;
 
     /**
@@ -106,6 +113,23 @@ public class JavaBackend implements Backend {
         objectFactory.stop();
     }
 
+    @Override
+    public Object snapshotWorld() {
+        Map<Class<?>, Object> snapshots = new HashMap<Class<?>, Object>();
+        for (Class<?> snapshotClass : snapshotClasses) {
+            snapshots.put(snapshotClass, ((WorldSnapshot<?>) objectFactory.getInstance(snapshotClass)).snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreWorld(Object snapshot) {
+        for (Map.Entry<Class<?>, Object> entry : ((Map<Class<?>, Object>) snapshot).entrySet()) {
+            ((WorldSnapshot<Object>) objectFactory.getInstance(entry.getKey())).restore(entry.getValue());
+        }
+    }
+
     @Override
     public String getSnippet(Step step, FunctionNameGenerator functionNameGenerator) {
         return snippetGenerator.getSnippet(step, functionNameGenerator);
@@ -113,7 +137,7 @@ public class JavaBackend implements Backend {
 
     void addStepDefinition(Annotation annotation, Method method) {
         try {
-            objectFactory.addClass(method.getDeclaringClass());
+            addGlueClass(method.getDeclaringClass());
             glue.addStepDefinition(new JavaStepDefinition(method, pattern(annotation), timeoutMillis(annotation), objectFactory));
         } catch (DuplicateStepDefinitionException e) {
             throw e;
@@ -122,6 +146,13 @@ public class JavaBackend implements Backend {
         }
     }
 
+    private void addGlueClass(Class<?> glueClass) {
+        objectFactory.addClass(glueClass);
+        if (WorldSnapshot.class.isAssignableFrom(glueClass)) {
+            snapshotClasses.add(glueClass);
+        }
+    }
+
     private Pattern pattern(Annotation annotation) throws Throwable {
         Method regexpMethod = annotation.getClass().getMethod("value");
         String regexpString = (String) Utils.invoke(annotation, regexpMethod, 0);
@@ -134,7 +165,7 @@ public class JavaBackend implements Backend {
     }
 
     void addHook(Annotation annotation, Method method) {
-        objectFactory.addClass(method.getDeclaringClass());
+        addGlueClass(method.getDeclaringClass());
 
         if (annotation.annotationType().equals(Before.class)) {
             String[] tagExpressions = ((Before) annotation).value();
@@ -1,11 +1,11 @@
 package cucumber.runtime.java;
 
 import cucumber.api.Scenario;
+import cucumber.runtime.CompiledTagExpression;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.MethodFormat;
 import cucumber.runtime.Utils;
-import gherkin.TagExpression;
 import gherkin.formatter.model.Tag;
 
 import java.lang.reflect.Method;
@@ -17,14 +17,14 @@ class JavaHookDefinition implements HookDefinition {
 
     private final Method method;
     private final long timeoutMillis;
-    private final TagExpression tagExpression;
+    private final CompiledTagExpression tagExpression;
     private final int order;
     private final ObjectFactory objectFactory;
 
     public JavaHookDefinition(Method method, String[] tagExpressions, int order, long timeoutMillis, ObjectFactory objectFactory) {
-        this.method = method;
+        this.method = Utils.accessible(method);
         this.timeoutMillis = timeoutMillis;
-        tagExpression = new TagExpression(asList(tagExpressions));
+        tagExpression = new CompiledTagExpression(asList(tagExpressions));
         this.order = order;
         this.objectFactory = objectFactory;
     }
@@ -1,9 +1,9 @@
 package cucumber.runtime.java;
 
 import cucumber.runtime.JdkPatternArgumentMatcher;
+import cucumber.runtime.JdkPatternStepDefinition;
 import cucumber.runtime.MethodFormat;
 import cucumber.runtime.ParameterInfo;
-import cucumber.runtime.StepDefinition;
 import cucumber.runtime.Utils;
 import gherkin.I18n;
 import gherkin.formatter.Argument;
@@ -14,7 +14,7 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.regex.Pattern;
 
-class JavaStepDefinition implements StepDefinition {
+class JavaStepDefinition implements JdkPatternStepDefinition {
     private final Method method;
     private final Pattern pattern;
     private final long timeout;
@@ -23,7 +23,7 @@ class JavaStepDefinition implements StepDefinition {
     private List<ParameterInfo> parameterInfos;
 
     public JavaStepDefinition(Method method, Pattern pattern, long timeoutMillis, ObjectFactory objectFactory) {
-        this.method = method;
+        this.method = Utils.accessible(method);
         this.parameterInfos = ParameterInfo.fromMethod(method);
         this.pattern = pattern;
         this.argumentMatcher = new JdkPatternArgumentMatcher(pattern);
@@ -62,4 +62,9 @@ class JavaStepDefinition implements StepDefinition {
     public String getPattern() {
         return pattern.pattern();
     }
+
+    @Override
+    public Pattern getJdkPattern() {
+        return pattern;
+    }
 }
@@ -5,6 +5,7 @@ import cucumber.api.java.Before;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.Utils;
 import cucumber.runtime.ClassFinder;
+import cucumber.runtime.io.ResourceLoaderClassFinder;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -17,21 +18,40 @@ class MethodScanner {
     private final Collection<Class<? extends Annotation>> cucumberAnnotationClasses;
 
     private final ClassFinder classFinder;
+    private final GlueIndex glueIndex;
 
     public MethodScanner(ClassFinder classFinder) {
+        this(classFinder, glueIndex(classFinder));
+    }
+
+    MethodScanner(ClassFinder classFinder, GlueIndex glueIndex) {
         this.classFinder = classFinder;
+        this.glueIndex = glueIndex;
         cucumberAnnotationClasses = findCucumberAnnotationClasses();
     }
 
+    private static GlueIndex glueIndex(ClassFinder classFinder) {
+        // The index must list the classes the class finder would find, so it's read where those are loaded from
+        if (classFinder instanceof ResourceLoaderClassFinder) {
+            return GlueIndex.load(((ResourceLoaderClassFinder) classFinder).getClassLoader());
+        }
+        return GlueIndex.NONE;
+    }
+
     /**
-     * Registers step definitions and hooks.
+     * Registers step definitions and hooks. Glue paths whose classes are all in the glue index are loaded from the
+     * index, the others are scanned.
      *
      * @param javaBackend the backend where stepdefs and hooks will be registered
      * @param gluePaths   where to look
      */
     public void scan(JavaBackend javaBackend, List<String> gluePaths) {
         for (String gluePath : gluePaths) {
-            for (Class<?> glueCodeClass : classFinder.getDescendants(Object.class, packageName(gluePath))) {
+            Collection<? extends Class<?>> glueCodeClasses = glueIndex.getClasses(packageName(gluePath));
+            if (glueCodeClasses == null) {
+                glueCodeClasses = classFinder.getDescendants(Object.class, packageName(gluePath));
+            }
+            for (Class<?> glueCodeClass : glueCodeClasses) {
                 while (glueCodeClass != null && glueCodeClass != Object.class && !Utils.isInstantiable(glueCodeClass)) {
                     // those can't be instantiated without container class present.
                     glueCodeClass = glueCodeClass.getSuperclass();
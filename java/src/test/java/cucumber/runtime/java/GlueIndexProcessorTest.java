@@ -0,0 +1,150 @@
+package cucumber.runtime.java;
+
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GlueIndexProcessorTest {
+
+    @Test
+    public void indexes_classes_with_step_definitions_and_hooks() throws IOException {
+        File output = compile(
+                source("glue.Steps", "" +
+                        "package glue;\n" +
+                        "public class Steps {\n" +
+                        "    @cucumber.api.java.en.Given(\"a step\")\n" +
+                        "    public void step() {}\n" +
+                        "    public static class Hooks {\n" +
+                        "        @cucumber.api.java.Before\n" +
+                        "        public void before() {}\n" +
+                        "    }\n" +
+                        "}\n"),
+                source("glue.other.NotGlue", "" +
+                        "package glue.other;\n" +
+                        "public class NotGlue {\n" +
+                        "    @Deprecated\n" +
+                        "    public void method() {}\n" +
+                        "}\n"),
+                source("glue.other.SubclassedSteps", "" +
+                        "package glue.other;\n" +
+                        "public class SubclassedSteps extends glue.Steps {\n" +
+                        "}\n"));
+
+        assertEquals("glue.Steps\nglue.Steps$Hooks\nglue.other.SubclassedSteps\n", read(new File(output, GlueIndex.RESOURCE)));
+    }
+
+    @Test
+    public void does_not_write_index_without_glue() throws IOException {
+        File output = compile(source("glue.NotGlue", "" +
+                "package glue;\n" +
+                "public class NotGlue {\n" +
+                "}\n"));
+
+        assertFalse(new File(output, GlueIndex.RESOURCE).exists());
+    }
+
+    @Test
+    public void keeps_previously_indexed_classes_that_are_not_compiled_again() throws IOException {
+        File output = compile(
+                source("glue.Steps", "" +
+                        "package glue;\n" +
+                        "public class Steps {\n" +
+                        "    @cucumber.api.java.en.Given(\"a step\")\n" +
+                        "    public void step() {}\n" +
+                        "}\n"),
+                source("glue.MoreSteps", "" +
+                        "package glue;\n" +
+                        "public class MoreSteps {\n" +
+                        "    @cucumber.api.java.en.Given(\"another step\")\n" +
+                        "    public void step() {}\n" +
+                        "}\n"));
+
+        compile(output, source("glue.Steps", "" +
+                "package glue;\n" +
+                "public class Steps {\n" +
+                "    @cucumber.api.java.en.Given(\"a changed step\")\n" +
+                "    public void step() {}\n" +
+                "}\n"));
+
+        assertEquals("glue.MoreSteps\nglue.Steps\n", read(new File(output, GlueIndex.RESOURCE)));
+    }
+
+    @Test
+    public void drops_previously_indexed_classes_that_are_no_longer_glue() throws IOException {
+        File output = compile(
+                source("glue.Steps", "" +
+                        "package glue;\n" +
+                        "public class Steps {\n" +
+                        "    @cucumber.api.java.en.Given(\"a step\")\n" +
+                        "    public void step() {}\n" +
+                        "}\n"),
+                source("glue.MoreSteps", "" +
+                        "package glue;\n" +
+                        "public class MoreSteps {\n" +
+                        "    @cucumber.api.java.en.Given(\"another step\")\n" +
+                        "    public void step() {}\n" +
+                        "}\n"));
+
+        compile(output, source("glue.MoreSteps", "" +
+                "package glue;\n" +
+                "public class MoreSteps {\n" +
+                "}\n"));
+
+        assertEquals("glue.Steps\n", read(new File(output, GlueIndex.RESOURCE)));
+    }
+
+    private File compile(JavaFileObject... sources) throws IOException {
+        File output = File.createTempFile("cucumber-glue-index", "");
+        assertTrue(output.delete() && output.mkdir());
+        return compile(output, sources);
+    }
+
+    private File compile(File output, JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, asList(output));
+        // Like build tools do, so that classes compiled earlier can be found
+        List<File> classPath = new ArrayList<File>();
+        classPath.add(output);
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classPath.add(new File(entry));
+        }
+        fileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, null, null, asList(sources));
+        task.setProcessors(asList(new GlueIndexProcessor()));
+        assertTrue(task.call());
+        fileManager.close();
+        return output;
+    }
+
+    private JavaFileObject source(String className, final String source) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+    }
+
+    private String read(File file) throws IOException {
+        return new Scanner(new FileInputStream(file), "UTF-8").useDelimiter("\\A").next();
+    }
+}
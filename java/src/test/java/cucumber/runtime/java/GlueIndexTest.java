@@ -0,0 +1,50 @@
+package cucumber.runtime.java;
+
+import cucumber.runtime.java.stepdefs.Stepdefs;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class GlueIndexTest {
+    @Test
+    public void loads_indexed_classes_when_every_root_with_the_package_is_indexed() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        GlueIndex glueIndex = new GlueIndex(classLoader, singleton(Stepdefs.class.getName()), singleton(rootOf(Stepdefs.class)));
+
+        assertEquals(singleton(Stepdefs.class), new HashSet<Class<?>>(glueIndex.getClasses("cucumber.runtime.java.stepdefs")));
+    }
+
+    @Test
+    public void scans_packages_in_jars_without_directory_entries() throws IOException {
+        File jar = File.createTempFile("cucumber-glue", ".jar");
+        jar.deleteOnExit();
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            // No entries for the directories, so the package can't be found as a resource
+            out.putNextEntry(new JarEntry("cucumber/runtime/java/stepdefs/MoreStepdefs.class"));
+            out.closeEntry();
+        } finally {
+            out.close();
+        }
+        ClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, Thread.currentThread().getContextClassLoader());
+        GlueIndex glueIndex = new GlueIndex(classLoader, singleton(Stepdefs.class.getName()), singleton(rootOf(Stepdefs.class)));
+
+        assertNull(glueIndex.getClasses("cucumber.runtime.java.stepdefs"));
+    }
+
+    private String rootOf(Class<?> type) {
+        String path = type.getName().replace('.', '/') + ".class";
+        return GlueIndex.root(type.getClassLoader().getResource(path), path);
+    }
+}
@@ -1,6 +1,8 @@
 package cucumber.runtime.java;
 
 import cucumber.api.StepDefinitionReporter;
+import cucumber.api.java.WorldSnapshot;
+import cucumber.api.java.en.Given;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.Glue;
 import cucumber.runtime.HookDefinition;
@@ -48,6 +50,41 @@ public class JavaBackendTest {
         backend.loadGlue(glue, asList("cucumber.runtime.java.stepdefs", "cucumber.runtime.java.incorrectlysubclassedstepdefs"));
     }
 
+    @Test
+    public void restores_snapshots_of_glue_state_in_a_new_world() throws NoSuchMethodException {
+        ObjectFactory factory = new DefaultJavaObjectFactory();
+        JavaBackend backend = new JavaBackend(factory);
+        backend.loadGlue(new GlueStub(), SnapshotStepdefs.class.getMethod("seed"), SnapshotStepdefs.class);
+        backend.buildWorld();
+        factory.getInstance(SnapshotStepdefs.class).seeded = "seeded data";
+        Object snapshot = backend.snapshotWorld();
+        backend.disposeWorld();
+
+        backend.buildWorld();
+        assertEquals(null, factory.getInstance(SnapshotStepdefs.class).seeded);
+        backend.restoreWorld(snapshot);
+
+        assertEquals("seeded data", factory.getInstance(SnapshotStepdefs.class).seeded);
+    }
+
+    public static class SnapshotStepdefs implements WorldSnapshot<String> {
+        String seeded;
+
+        @Given("^seeded$")
+        public void seed() {
+        }
+
+        @Override
+        public String snapshot() {
+            return seeded;
+        }
+
+        @Override
+        public void restore(String snapshot) {
+            seeded = snapshot;
+        }
+    }
+
     private class GlueStub implements Glue {
         public final List<StepDefinition> stepDefinitions = new ArrayList<StepDefinition>();
 
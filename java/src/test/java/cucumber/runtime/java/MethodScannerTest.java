@@ -1,15 +1,20 @@
 package cucumber.runtime.java;
 
 import cucumber.api.java.Before;
+import cucumber.runtime.ClassFinder;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.Glue;
+import cucumber.runtime.StepDefinition;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
+import cucumber.runtime.java.stepdefs.Stepdefs;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
@@ -56,6 +61,63 @@ public class MethodScannerTest {
         }
     }
 
+    @Test
+    public void loadGlue_loads_indexed_classes_instead_of_scanning() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ClassFinder classFinder = spy(new ResourceLoaderClassFinder(new MultiLoader(classLoader), classLoader));
+        GlueIndex glueIndex = new GlueIndex(classLoader, singleton(Stepdefs.class.getName()), singleton(rootOf(Stepdefs.class)));
+        MethodScanner methodScanner = new MethodScanner(classFinder, glueIndex);
+
+        ObjectFactory factory = Mockito.mock(ObjectFactory.class);
+        Glue world = Mockito.mock(Glue.class);
+        JavaBackend backend = new JavaBackend(factory, classFinder);
+        Whitebox.setInternalState(backend, "glue", world);
+
+        methodScanner.scan(backend, asList("cucumber.runtime.java.stepdefs"));
+
+        verify(factory, times(1)).addClass(Stepdefs.class);
+        verify(world, times(1)).addStepDefinition(any(StepDefinition.class));
+        verify(classFinder, never()).getDescendants(Object.class, "cucumber.runtime.java.stepdefs");
+    }
+
+    @Test
+    public void loadGlue_scans_glue_paths_without_indexed_classes() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ClassFinder classFinder = new ResourceLoaderClassFinder(new MultiLoader(classLoader), classLoader);
+        GlueIndex glueIndex = new GlueIndex(classLoader, singleton("some.other.Stepdefs"), singleton("file:/some/other/root/"));
+        MethodScanner methodScanner = new MethodScanner(classFinder, glueIndex);
+
+        ObjectFactory factory = Mockito.mock(ObjectFactory.class);
+        JavaBackend backend = new JavaBackend(factory, classFinder);
+        Whitebox.setInternalState(backend, "glue", Mockito.mock(Glue.class));
+
+        methodScanner.scan(backend, asList("classpath:cucumber/runtime/java/stepdefs"));
+
+        verify(factory, times(1)).addClass(Stepdefs.class);
+    }
+
+    @Test
+    public void loadGlue_scans_glue_paths_with_classes_outside_the_indexed_roots() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ClassFinder classFinder = spy(new ResourceLoaderClassFinder(new MultiLoader(classLoader), classLoader));
+        GlueIndex glueIndex = new GlueIndex(classLoader, singleton(Stepdefs.class.getName()), singleton("file:/some/other/root/"));
+        MethodScanner methodScanner = new MethodScanner(classFinder, glueIndex);
+
+        ObjectFactory factory = Mockito.mock(ObjectFactory.class);
+        JavaBackend backend = new JavaBackend(factory, classFinder);
+        Whitebox.setInternalState(backend, "glue", Mockito.mock(Glue.class));
+
+        methodScanner.scan(backend, asList("cucumber.runtime.java.stepdefs"));
+
+        verify(factory, times(1)).addClass(Stepdefs.class);
+        verify(classFinder, times(1)).getDescendants(Object.class, "cucumber.runtime.java.stepdefs");
+    }
+
+    private String rootOf(Class<?> type) {
+        String path = type.getName().replace('.', '/') + ".class";
+        return GlueIndex.root(type.getClassLoader().getResource(path), path);
+    }
+
     public static class Stepdefs2 extends BaseStepDefs {
         public interface Interface1 {
         }
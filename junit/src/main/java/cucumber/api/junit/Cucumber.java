@@ -86,10 +86,14 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
 
     @Override
     public void run(RunNotifier notifier) {
-        super.run(notifier);
-        jUnitReporter.done();
-        jUnitReporter.close();
-        runtime.printSummary();
+        try {
+            super.run(notifier);
+            jUnitReporter.done();
+            jUnitReporter.close();
+            runtime.printSummary();
+        } finally {
+            runtime.releaseGlue();
+        }
     }
 
     private void addChildren(List<CucumberFeature> cucumberFeatures) throws InitializationError {
@@ -1,33 +1,40 @@
 package cucumber.runtime.junit;
 
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.model.CucumberExamples;
-import cucumber.runtime.model.CucumberScenario;
 import org.junit.runner.Description;
-import org.junit.runner.Runner;
-import org.junit.runners.Suite;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
 import org.junit.runners.model.InitializationError;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
-class ExamplesRunner extends Suite {
+/**
+ * Runs the example rows of an Examples table. The children are the indexes of the rows, rather than runners, because
+ * JUnit keeps every child for the whole run. A row's scenario is created to describe it, and again to run it. The
+ * Descriptions kept in between have their own unique ids, so they don't refer to the expanded scenario or its steps.
+ */
+class ExamplesRunner extends ParentRunner<Integer> {
+    private final Runtime runtime;
     private final CucumberExamples cucumberExamples;
+    private final JUnitReporter jUnitReporter;
+    private final Description[] exampleDescriptions;
     private Description description;
 
     protected ExamplesRunner(Runtime runtime, CucumberExamples cucumberExamples, JUnitReporter jUnitReporter) throws InitializationError {
-        super(ExamplesRunner.class, new ArrayList<Runner>());
+        super(ExamplesRunner.class);
+        this.runtime = runtime;
         this.cucumberExamples = cucumberExamples;
+        this.jUnitReporter = jUnitReporter;
+        this.exampleDescriptions = new Description[cucumberExamples.getExampleCount()];
+    }
 
-        List<CucumberScenario> exampleScenarios = cucumberExamples.createExampleScenarios();
-        for (CucumberScenario scenario : exampleScenarios) {
-            try {
-                ExecutionUnitRunner exampleScenarioRunner = new ExecutionUnitRunner(runtime, scenario, jUnitReporter);
-                getChildren().add(exampleScenarioRunner);
-            } catch (InitializationError initializationError) {
-                initializationError.printStackTrace();
-            }
-        }
+    @Override
+    protected List<Integer> getChildren() {
+        return new ExampleIndexes();
     }
 
     @Override
@@ -39,10 +46,46 @@ class ExamplesRunner extends Suite {
     public Description getDescription() {
         if (description == null) {
             description = Description.createSuiteDescription(getName(), cucumberExamples.getExamples());
-            for (Runner child : getChildren()) {
-                description.addChild(describeChild(child));
+            for (Integer index : getChildren()) {
+                description.addChild(describeChild(index));
             }
         }
         return description;
     }
+
+    @Override
+    protected Description describeChild(Integer index) {
+        if (exampleDescriptions[index] == null) {
+            exampleDescriptions[index] = createExampleScenarioRunner(index).getDescription();
+        }
+        return exampleDescriptions[index];
+    }
+
+    @Override
+    protected void runChild(Integer index, RunNotifier notifier) {
+        createExampleScenarioRunner(index).run(notifier);
+    }
+
+    private ExecutionUnitRunner createExampleScenarioRunner(int index) {
+        try {
+            return new ExecutionUnitRunner(runtime, cucumberExamples.createExampleScenario(index), jUnitReporter, exampleDescriptions[index]);
+        } catch (InitializationError initializationError) {
+            throw new CucumberException(initializationError);
+        }
+    }
+
+    private class ExampleIndexes extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return exampleDescriptions.length;
+        }
+    }
 }
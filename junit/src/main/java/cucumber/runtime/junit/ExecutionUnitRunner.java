@@ -8,6 +8,7 @@ import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.ParentRunner;
 import org.junit.runners.model.InitializationError;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,15 +21,24 @@ public class ExecutionUnitRunner extends ParentRunner<Step> {
     private final Runtime runtime;
     private final CucumberScenario cucumberScenario;
     private final JUnitReporter jUnitReporter;
+    private final Description earlierDescription;
     private Description description;
     private final Map<Step, Description> stepDescriptions = new HashMap<Step, Description>();
     private final List<Step> runnerSteps = new ArrayList<Step>();
 
     public ExecutionUnitRunner(Runtime runtime, CucumberScenario cucumberScenario, JUnitReporter jUnitReporter) throws InitializationError {
+        this(runtime, cucumberScenario, jUnitReporter, null);
+    }
+
+    /**
+     * @param earlierDescription the Description of an earlier runner of the same scenario, to report to, or null
+     */
+    ExecutionUnitRunner(Runtime runtime, CucumberScenario cucumberScenario, JUnitReporter jUnitReporter, Description earlierDescription) throws InitializationError {
         super(ExecutionUnitRunner.class);
         this.runtime = runtime;
         this.cucumberScenario = cucumberScenario;
         this.jUnitReporter = jUnitReporter;
+        this.earlierDescription = earlierDescription;
     }
 
     public List<Step> getRunnerSteps() {
@@ -48,40 +58,50 @@ public class ExecutionUnitRunner extends ParentRunner<Step> {
     @Override
     public Description getDescription() {
         if (description == null) {
-            description = Description.createSuiteDescription(getName(), cucumberScenario.getGherkinModel());
-
-            if (cucumberScenario.getCucumberBackground() != null) {
-                for (Step backgroundStep : cucumberScenario.getCucumberBackground().getSteps()) {
-                    // We need to make a copy of that step, so we have a unique one per scenario
-                    Step copy = new Step(
-                            backgroundStep.getComments(),
-                            backgroundStep.getKeyword(),
-                            backgroundStep.getName(),
-                            backgroundStep.getLine(),
-                            backgroundStep.getRows(),
-                            backgroundStep.getDocString()
-                    );
-                    description.addChild(describeChild(copy));
-                    runnerSteps.add(copy);
+            addRunnerSteps();
+            if (earlierDescription != null) {
+                // The scenario was created again, so its steps are reported to the Descriptions of the earlier ones
+                description = earlierDescription;
+                List<Description> earlierStepDescriptions = earlierDescription.getChildren();
+                for (int i = 0; i < runnerSteps.size(); i++) {
+                    stepDescriptions.put(runnerSteps.get(i), earlierStepDescriptions.get(i));
+                }
+            } else {
+                String id = cucumberScenario.getGherkinModel().getId();
+                description = Description.createSuiteDescription(getName(), new UniqueId(id));
+                for (int i = 0; i < runnerSteps.size(); i++) {
+                    Step step = runnerSteps.get(i);
+                    Description stepDescription = Description.createTestDescription(getName(), step.getKeyword() + step.getName(), new UniqueId(id + ";" + i));
+                    stepDescriptions.put(step, stepDescription);
+                    description.addChild(stepDescription);
                 }
             }
+        }
+        return description;
+    }
 
-            for (Step step : getChildren()) {
-                description.addChild(describeChild(step));
-                runnerSteps.add(step);
+    private void addRunnerSteps() {
+        if (cucumberScenario.getCucumberBackground() != null) {
+            for (Step backgroundStep : cucumberScenario.getCucumberBackground().getSteps()) {
+                // We need to make a copy of that step, so we have a unique one per scenario
+                Step copy = new Step(
+                        backgroundStep.getComments(),
+                        backgroundStep.getKeyword(),
+                        backgroundStep.getName(),
+                        backgroundStep.getLine(),
+                        backgroundStep.getRows(),
+                        backgroundStep.getDocString()
+                );
+                runnerSteps.add(copy);
             }
         }
-        return description;
+        runnerSteps.addAll(getChildren());
     }
 
     @Override
     protected Description describeChild(Step step) {
-        Description description = stepDescriptions.get(step);
-        if (description == null) {
-            description = Description.createTestDescription(getName(), step.getKeyword() + step.getName(), step);
-            stepDescriptions.put(step, description);
-        }
-        return description;
+        getDescription();
+        return stepDescriptions.get(step);
     }
 
     @Override
@@ -99,4 +119,22 @@ public class ExecutionUnitRunner extends ParentRunner<Step> {
         throw new UnsupportedOperationException();
         // cucumberScenario.runStep(step, jUnitReporter, runtime);
     }
+
+    /**
+     * Tells apart the Descriptions of a scenario and its steps. Unlike the gherkin model objects, it doesn't keep the
+     * expanded scenario of an example row alive as long as JUnit keeps its Description. It's only equal to itself,
+     * like the model objects, so the same scenario run twice in a test run gets Descriptions that are not equal.
+     */
+    private static class UniqueId implements Serializable {
+        private final String id;
+
+        UniqueId(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
 }
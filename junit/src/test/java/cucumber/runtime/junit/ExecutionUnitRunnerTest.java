@@ -3,16 +3,21 @@ package cucumber.runtime.junit;
 import cucumber.runtime.FeatureBuilder;
 import cucumber.runtime.io.ClasspathResourceLoader;
 import cucumber.runtime.io.Resource;
+import cucumber.runtime.model.CucumberExamples;
 import cucumber.runtime.model.CucumberFeature;
 import cucumber.runtime.model.CucumberScenario;
+import cucumber.runtime.model.CucumberScenarioOutline;
 import gherkin.formatter.model.Step;
 import org.junit.Test;
 import org.junit.runner.Description;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +25,11 @@ import java.util.List;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 
 public class ExecutionUnitRunnerTest {
     @Test
@@ -50,6 +60,26 @@ public class ExecutionUnitRunnerTest {
         assertFalse("Descriptions must not be equal.", stepDescription1.equals(stepDescription2));
     }
 
+    @Test
+    public void shouldReportToTheDescriptionsOfAnEarlierRunnerOfTheSameScenario() throws Exception {
+        List<CucumberFeature> features = CucumberFeature.load(
+                new ClasspathResourceLoader(this.getClass().getClassLoader()),
+                asList("cucumber/runtime/junit/fb.feature"),
+                Collections.emptyList()
+        );
+        CucumberScenario scenario = (CucumberScenario) features.get(0).getFeatureElements().get(0);
+        Description earlierDescription = new ExecutionUnitRunner(null, scenario, null).getDescription();
+
+        ExecutionUnitRunner runner = new ExecutionUnitRunner(null, scenario, null, earlierDescription);
+
+        assertSame(earlierDescription, runner.getDescription());
+        List<Step> runnerSteps = runner.getRunnerSteps();
+        assertEquals(earlierDescription.getChildren().size(), runnerSteps.size());
+        for (int i = 0; i < runnerSteps.size(); i++) {
+            assertSame(earlierDescription.getChildren().get(i), runner.describeChild(runnerSteps.get(i)));
+        }
+    }
+
     @Test
     public void shouldIncludeScenarioNameAsClassNameInStepDescriptions() throws Exception {
         List<CucumberFeature> features = CucumberFeature.load(
@@ -95,14 +125,48 @@ public class ExecutionUnitRunnerTest {
         Step runnerBackgroundStep = runner.getRunnerSteps().get(0);
         Step runnerScenarioStep = runner.getRunnerSteps().get(1);
 
-        assertDescriptionHasStepAsUniqueId(backgroundStepDescription, runnerBackgroundStep);
-        assertDescriptionHasStepAsUniqueId(scenarioStepDescription, runnerScenarioStep);
+        assertSame(backgroundStepDescription, runner.describeChild(runnerBackgroundStep));
+        assertSame(scenarioStepDescription, runner.describeChild(runnerScenarioStep));
     }
 
-    private void assertDescriptionHasStepAsUniqueId(Description stepDescription, Step step) {
-        // Note, JUnit uses the the serializable parameter (in this case the step)
-        // as the unique id when comparing Descriptions
-        assertEquals(stepDescription, Description.createTestDescription("", "", step));
+    @Test
+    public void shouldNotKeepTheExampleScenariosOfTheDescribedRowsInTheirDescriptions() throws Exception {
+        CucumberFeature cucumberFeature = feature("featurePath", "" +
+                "Feature: feature name\n" +
+                "  Scenario Outline: outline name\n" +
+                "    Given there are <start> cucumbers\n" +
+                "    Then I should have <left> cucumbers\n" +
+                "    Examples:\n" +
+                "      | start | left |\n" +
+                "      | 12    | 7    |\n" +
+                "      | 20    | 15   |\n");
+        CucumberScenarioOutline outline = (CucumberScenarioOutline) cucumberFeature.getFeatureElements().get(0);
+        CucumberExamples cucumberExamples = spy(outline.getCucumberExamplesList().get(0));
+        final List<WeakReference<Object>> exampleModels = new ArrayList<WeakReference<Object>>();
+        doAnswer(new Answer<CucumberScenario>() {
+            @Override
+            public CucumberScenario answer(InvocationOnMock invocation) throws Throwable {
+                CucumberScenario exampleScenario = (CucumberScenario) invocation.callRealMethod();
+                exampleModels.add(new WeakReference<Object>(exampleScenario.getGherkinModel()));
+                for (Step step : exampleScenario.getSteps()) {
+                    exampleModels.add(new WeakReference<Object>(step));
+                }
+                return exampleScenario;
+            }
+        }).when(cucumberExamples).createExampleScenario(anyInt());
+
+        Description examplesDescription = new ExamplesRunner(null, cucumberExamples, null).getDescription();
+
+        assertEquals(2, examplesDescription.getChildren().size());
+        assertEquals(2, examplesDescription.getChildren().get(0).getChildren().size());
+        assertEquals(6, exampleModels.size());
+        for (WeakReference<Object> exampleModel : exampleModels) {
+            for (int i = 0; i < 10 && exampleModel.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(exampleModel.get());
+        }
     }
 
     private CucumberFeature feature(final String path, final String source) throws IOException {